@@ -1,5 +1,6 @@
 package com.blog.Blog_Backend.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -8,12 +9,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 @EnableMongoAuditing
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
 public class AppConfig {
     @Bean
     public CacheManager cacheManager() {
@@ -30,4 +34,19 @@ public class AppConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Separate lane for transactional mail (OTP codes) so it never queues
+     * behind bulk subscriber notifications on {@code taskExecutor}.
+     */
+    @Bean(name = "priorityMailExecutor")
+    public TaskExecutor priorityMailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("Mail-Priority-");
+        executor.initialize();
+        return executor;
+    }
 }
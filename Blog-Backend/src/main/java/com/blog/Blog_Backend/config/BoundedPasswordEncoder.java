@@ -0,0 +1,153 @@
+package com.blog.Blog_Backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt encoder that runs every hash and verify on a dedicated pool sized to
+ * the core count, so a burst of signups or logins cannot tie up every request
+ * thread on pure CPU. When the pool and its queue are full the call is shed
+ * with {@link PasswordHashingRejectedException} instead of piling up.
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 14;
+    private static final String CALIBRATION_INPUT = "calibration-password-123";
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private final long retryAfterSeconds;
+
+    public BoundedPasswordEncoder(MeterRegistry registry,
+                                  @Value("${app.auth.bcrypt.strength:0}") int strength,
+                                  @Value("${app.auth.bcrypt.target-latency:100ms}") Duration targetLatency,
+                                  @Value("${app.auth.hashing.threads:0}") int threads,
+                                  @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.auth.hashing.retry-after:1s}") Duration retryAfter) {
+        int resolvedStrength = strength > 0 ? strength : calibrate(targetLatency);
+        this.delegate = new BCryptPasswordEncoder(resolvedStrength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Password-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        this.queueWait = Timer.builder("auth.password.queue.wait").register(registry);
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(registry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(registry);
+        this.rejected = Counter.builder("auth.password.rejected").register(registry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+
+        logger.info("Password hashing: bcrypt strength {}, {} threads, queue {}", resolvedStrength, poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * True for hashes made with a lower cost than the calibrated one, which
+     * lets the authentication provider rehash them on the next successful login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Picks the highest BCrypt cost whose single-hash time stays within the
+     * target on this machine, bounded to [10, 14].
+     */
+    private static int calibrate(Duration target) {
+        int chosen = MIN_STRENGTH;
+        long targetNanos = target.toNanos();
+        new BCryptPasswordEncoder(MIN_STRENGTH).encode(CALIBRATION_INPUT); // warm up
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(strength);
+            long start = System.nanoTime();
+            candidate.encode(CALIBRATION_INPUT);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > targetNanos) {
+                break;
+            }
+            chosen = strength;
+            if (elapsed * 2 > targetNanos) {
+                break;
+            }
+        }
+        return chosen;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
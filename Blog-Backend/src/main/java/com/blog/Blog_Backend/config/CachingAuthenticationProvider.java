@@ -0,0 +1,50 @@
+package com.blog.Blog_Backend.config;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Short-circuits username/password authentication when the same credentials
+ * were verified recently, skipping both the user lookup and the BCrypt check.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialCache cache;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, VerifiedCredentialCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (email == null || !(credentials instanceof String rawPassword)) {
+            return delegate.authenticate(authentication);
+        }
+
+        UserDetails cached = cache.lookup(email, rawPassword);
+        if (cached != null) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    cached, null, cached.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated() && result.getPrincipal() instanceof UserDetails principal) {
+            cache.put(email, rawPassword, principal);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
@@ -0,0 +1,113 @@
+package com.blog.Blog_Backend.config;
+
+import com.blog.Blog_Backend.config.ConcurrencyLimitProperties.Limit;
+import com.blog.Blog_Backend.config.ConcurrencyLimitProperties.RouteClass;
+import com.blog.Blog_Backend.utility.GradientLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caps concurrent requests per route class with a {@link GradientLimit}, ahead
+ * of Spring Security so that BCrypt and Mongo never see more work than they
+ * are currently completing. Requests over the limit get an immediate 503.
+ * Health checks, CORS preflights and OTP verification are never limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> PRIORITY_PATHS = Set.of(
+            "/api/users/verify",
+            "/api/users/resend-otp"
+    );
+
+    /** Endpoints that hash a password or mint tokens; /api/auth/check is an ordinary read. */
+    private static final Set<String> AUTH_PATHS = Set.of(
+            "/api/auth/token",
+            "/api/auth/refresh"
+    );
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<RouteClass, GradientLimit> limits = new EnumMap<>(RouteClass.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (RouteClass routeClass : RouteClass.values()) {
+            Limit config = properties.limitFor(routeClass);
+            GradientLimit limit = new GradientLimit(config.getInitial(), config.getMin(), config.getMax());
+            limits.put(routeClass, limit);
+            String tag = routeClass.name().toLowerCase();
+            meterRegistry.gauge("http.concurrency.limit", Tags.of("class", tag),
+                    limit, GradientLimit::getLimit);
+            meterRegistry.gauge("http.concurrency.inflight", Tags.of("class", tag),
+                    limit, GradientLimit::getInFlight);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = classify(request);
+        GradientLimit limit = limits.get(routeClass);
+        if (!limit.tryAcquire()) {
+            meterRegistry.counter("http.concurrency.shed", "class", routeClass.name().toLowerCase()).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"error\": \"Service Unavailable\", \"message\": \"The server is busy. Please retry shortly.\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * @return the class to limit, or {@code null} for requests that bypass limiting
+     */
+    private RouteClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HttpMethod.OPTIONS.matches(method) || PRIORITY_PATHS.contains(path)) {
+            return null;
+        }
+        if (path.startsWith("/login/") || path.startsWith("/oauth2/") || AUTH_PATHS.contains(path)
+                || (HttpMethod.POST.matches(method) && path.equals("/api/users"))) {
+            return RouteClass.AUTH;
+        }
+        if (!path.startsWith("/api/")) {
+            // Health, ping and actuator endpoints.
+            return null;
+        }
+        return HttpMethod.GET.matches(method) ? RouteClass.READ : RouteClass.WRITE;
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Starting point and bounds for each adaptive limit, bound from
+ * {@code app.concurrency.*}. See {@link ConcurrencyLimitFilter}.
+ */
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyLimitProperties {
+
+    public enum RouteClass {READ, WRITE, AUTH}
+
+    private boolean enabled = true;
+    private Map<RouteClass, Limit> limits = new EnumMap<>(RouteClass.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<RouteClass, Limit> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<RouteClass, Limit> limits) {
+        this.limits = limits;
+    }
+
+    public Limit limitFor(RouteClass routeClass) {
+        return limits.getOrDefault(routeClass, new Limit());
+    }
+
+    public static class Limit {
+        private int initial = 20;
+        private int min = 4;
+        private int max = 200;
+
+        public int getInitial() {
+            return initial;
+        }
+
+        public void setInitial(int initial) {
+            this.initial = initial;
+        }
+
+        public int getMin() {
+            return min;
+        }
+
+        public void setMin(int min) {
+            this.min = min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public void setMax(int max) {
+            this.max = max;
+        }
+    }
+}
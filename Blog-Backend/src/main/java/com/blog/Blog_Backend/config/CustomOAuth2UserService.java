@@ -2,9 +2,15 @@ package com.blog.Blog_Backend.config;
 
 import com.blog.Blog_Backend.entity.User;
 import com.blog.Blog_Backend.repository.UserRepository;
+import com.blog.Blog_Backend.service.EmailMembershipFilter;
+import com.blog.Blog_Backend.service.EmailMembershipFilter.EmailSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -32,13 +38,18 @@ public class CustomOAuth2UserService implements UnifiedOAuth2UserService {
     private static final Logger logger = LoggerFactory.getLogger(CustomOAuth2UserService.class);
 
     private final UserRepository userRepo;
+    private final MongoTemplate mongoTemplate;
     private final RestTemplate restTemplate;
+    private final EmailMembershipFilter membershipFilter;
     private final OidcUserService oidcDelegate = new OidcUserService();
     private final DefaultOAuth2UserService oauth2Delegate = new DefaultOAuth2UserService();
 
-    public CustomOAuth2UserService(UserRepository userRepo, RestTemplate restTemplate) {
+    public CustomOAuth2UserService(UserRepository userRepo, MongoTemplate mongoTemplate, RestTemplate restTemplate,
+                                   EmailMembershipFilter membershipFilter) {
         this.userRepo = userRepo;
+        this.mongoTemplate = mongoTemplate;
         this.restTemplate = restTemplate;
+        this.membershipFilter = membershipFilter;
         logger.info("CustomOAuth2UserService initialized");
     }
 
@@ -88,17 +99,26 @@ public class CustomOAuth2UserService implements UnifiedOAuth2UserService {
 
         String finalEmail = email;
         String finalName = name;
-        User user = userRepo.findByEmail(email).map(existingUser -> {
-            existingUser.setName(Objects.toString(finalName, existingUser.getName()));
-            existingUser.setVerified(true);
-            return userRepo.save(existingUser);
+        User user = userRepo.findCredentialsByEmail(email).map(existingUser -> {
+            String resolvedName = Objects.toString(finalName, existingUser.getName());
+            if (!resolvedName.equals(existingUser.getName()) || !existingUser.isVerified()) {
+                mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("email").is(finalEmail)),
+                        new Update().set("name", resolvedName).set("isVerified", true),
+                        User.class);
+                existingUser.setName(resolvedName);
+                existingUser.setVerified(true);
+            }
+            return existingUser;
         }).orElseGet(() -> {
             User newUser = new User();
             newUser.setEmail(finalEmail);
             newUser.setName(Objects.toString(finalName, "User"));
             newUser.setVerified(true);
             newUser.setPassword("OAUTH_PASSWORD");
-            return userRepo.save(newUser);
+            User saved = userRepo.save(newUser);
+            membershipFilter.add(EmailSet.USERS, finalEmail);
+            return saved;
         });
 
         logger.info("OAuth user processed: {}", user.getEmail());
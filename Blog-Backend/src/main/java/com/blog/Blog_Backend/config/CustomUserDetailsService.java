@@ -1,26 +1,56 @@
 package com.blog.Blog_Backend.config;
 
 import com.blog.Blog_Backend.entity.User;
-import com.blog.Blog_Backend.repository.UserRepository;
+import com.blog.Blog_Backend.service.ReadConsistencyService;
+import com.blog.Blog_Backend.service.ReadConsistencyService.QueryClass;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
-    private UserRepository userRepository;
+    private ReadConsistencyService consistency;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        Query query = Query.query(Criteria.where("email").is(email))
+                .withReadPreference(consistency.preferenceFor(QueryClass.AUTH));
+        query.fields().include("email", "name", "password", "isVerified");
+        User user = consistency.read(ops -> ops.findOne(query, User.class));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
         if (!user.isVerified()) {
             throw new UsernameNotFoundException("User account is not verified");
         }
         return new UserPrincipal(user);
     }
+
+    /**
+     * Called after a successful login whose stored hash used a lower BCrypt cost
+     * than the current one; only the password field is rewritten.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("email").is(userDetails.getUsername())),
+                Update.update("password", newPassword),
+                User.class);
+        if (userDetails instanceof UserPrincipal principal) {
+            principal.getUser().setPassword(newPassword);
+        }
+        return userDetails;
+    }
 }
@@ -0,0 +1,91 @@
+package com.blog.Blog_Backend.config;
+
+import com.mongodb.MongoCompressor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoConfig.class);
+
+    @Value("${app.mongo.compressors:zstd,snappy,zlib}")
+    private List<String> compressors;
+
+    @Value("${app.mongo.pool.max-size:50}")
+    private int poolMaxSize;
+
+    @Value("${app.mongo.pool.min-size:5}")
+    private int poolMinSize;
+
+    @Value("${app.mongo.pool.max-wait:2s}")
+    private Duration poolMaxWait;
+
+    @Value("${app.mongo.pool.max-idle:5m}")
+    private Duration poolMaxIdle;
+
+    @Value("${app.mongo.pool.max-connecting:4}")
+    private int poolMaxConnecting;
+
+    @Value("${app.mongo.socket.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${app.mongo.socket.read-timeout:15s}")
+    private Duration readTimeout;
+
+    @Value("${app.mongo.server-selection-timeout:5s}")
+    private Duration serverSelectionTimeout;
+
+    /**
+     * Runs after Spring Boot's connection-string customizer, so these settings
+     * take precedence over the equivalent options in {@code MONGODB_URI}.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning() {
+        List<MongoCompressor> wireCompressors = resolveCompressors(compressors);
+        logger.info("Mongo client: compressors={}, pool={}..{}, maxWait={}, readTimeout={}",
+                compressors, poolMinSize, poolMaxSize, poolMaxWait, readTimeout);
+
+        return builder -> builder
+                .compressorList(wireCompressors)
+                .applyToConnectionPoolSettings(pool -> pool
+                        .maxSize(poolMaxSize)
+                        .minSize(poolMinSize)
+                        .maxWaitTime(poolMaxWait.toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(poolMaxIdle.toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(poolMaxConnecting))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private static List<MongoCompressor> resolveCompressors(List<String> names) {
+        List<MongoCompressor> result = new ArrayList<>();
+        for (String name : names) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "zstd" -> result.add(MongoCompressor.createZstdCompressor());
+                case "snappy" -> result.add(MongoCompressor.createSnappyCompressor());
+                case "zlib" -> result.add(MongoCompressor.createZlibCompressor());
+                case "", "none" -> {
+                }
+                default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.blog.Blog_Backend.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing pool is saturated and a hash or verify
+ * request cannot be queued. Surfaced to clients as 429 Too Many Requests.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Password hashing capacity exhausted");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
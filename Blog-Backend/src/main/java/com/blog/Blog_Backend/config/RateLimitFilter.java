@@ -0,0 +1,102 @@
+package com.blog.Blog_Backend.config;
+
+import com.blog.Blog_Backend.config.RateLimitProperties.KeyType;
+import com.blog.Blog_Backend.config.RateLimitProperties.Rule;
+import com.blog.Blog_Backend.service.RateLimiter;
+import com.blog.Blog_Backend.utility.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Applies the path-based rules from {@link RateLimitProperties}. Registered at
+ * the default (lowest) order so it runs after Spring Security and can key
+ * {@link KeyType#USER} rules by the authenticated email.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Rule> entry : properties.getRules().entrySet()) {
+            Rule rule = entry.getValue();
+            if (rule.getKey() == KeyType.EMAIL || !matches(rule, request.getMethod(), path)) {
+                continue;
+            }
+            long retryAfter = rateLimiter.tryAcquire(entry.getKey(), keyFor(rule.getKey(), request));
+            if (retryAfter > 0) {
+                reject(response, retryAfter);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(Rule rule, String method, String path) {
+        if (!rule.getMethods().isEmpty() && rule.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+            return false;
+        }
+        for (String pattern : rule.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String keyFor(KeyType type, HttpServletRequest request) {
+        if (type == KeyType.USER) {
+            String email = SecurityUtils.getCurrentUserEmail();
+            if (email != null) {
+                return "user:" + email;
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader(FORWARDED_FOR);
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"error\": \"Too Many Requests\", \"message\": \"Too many requests. Please retry later.\"}");
+    }
+}
@@ -0,0 +1,115 @@
+package com.blog.Blog_Backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route throttling rules, bound from {@code app.rate-limit.*}. Rules with
+ * {@code paths} are enforced by {@link RateLimitFilter}; rules keyed by
+ * {@link KeyType#EMAIL} have no paths and are checked from service code, where
+ * the address is known.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    public enum KeyType {IP, USER, EMAIL}
+
+    private boolean enabled = true;
+    private boolean shared = false;
+    private boolean trustForwardedFor = false;
+    private int maxKeysPerRule = 100_000;
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public int getMaxKeysPerRule() {
+        return maxKeysPerRule;
+    }
+
+    public void setMaxKeysPerRule(int maxKeysPerRule) {
+        this.maxKeysPerRule = maxKeysPerRule;
+    }
+
+    public Map<String, Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+        private List<String> paths = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private KeyType key = KeyType.IP;
+        private int capacity = 10;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public KeyType getKey() {
+            return key;
+        }
+
+        public void setKey(KeyType key) {
+            this.key = key;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.blog.Blog_Backend.config;
 
+import com.blog.Blog_Backend.service.ReadConsistencyService;
+import com.blog.Blog_Backend.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.config.Customizer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -27,6 +33,15 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDetailsPasswordService userDetailsPasswordService;
+
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     private final UnifiedOAuth2UserService unifiedOAuth2UserService;
 
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
@@ -40,13 +55,25 @@ public class SecurityConfig {
     @Value("${app.oauth.failure-url}")
     private String oauthFailureUrl;
 
-    public SecurityConfig(UnifiedOAuth2UserService unifiedOAuth2UserService, CustomAuthenticationEntryPoint customAuthenticationEntryPoint) {
+    @Value("${app.auth.stateless:false}")
+    private boolean stateless;
+
+    private final TokenService tokenService;
+
+    public SecurityConfig(UnifiedOAuth2UserService unifiedOAuth2UserService,
+                          CustomAuthenticationEntryPoint customAuthenticationEntryPoint,
+                          TokenService tokenService) {
         this.unifiedOAuth2UserService = unifiedOAuth2UserService;
         this.customAuthenticationEntryPoint = customAuthenticationEntryPoint;
+        this.tokenService = tokenService;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // Without a parent, a failed or shed password check is not retried by the
+        // global manager, which would run a second BCrypt verify for the same request.
+        http.getSharedObject(AuthenticationManagerBuilder.class).parentAuthenticationManager(null);
+
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -57,23 +84,34 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/blogs").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/verify").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/users/resend-otp").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/refresh").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/token").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/blogs/trending", "/api/blogs/filter", "/api/blogs/facets", "/api/blogs/search").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/blogs/{blogId}").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/blogs").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/blogs").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/blogs/{blogId}").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/blogs/{blogId}/comments").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/blogs/{blogId}/comments/{parentCommentId}/replies").authenticated()
+                        .requestMatchers("/api/blogs/{blogId}/reactions", "/api/blogs/{blogId}/comments/{commentId}/reactions").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/blogs/reactions/status").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/users/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/users/**").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/users/**").authenticated()
                         .requestMatchers("/api/notifications/**").authenticated()
+                        .requestMatchers("/api/feed/**").authenticated()
+                        .requestMatchers("/api/drafts/**").authenticated()
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(session -> session
-                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                        .sessionCreationPolicy(stateless ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED)
+                )
+                .authenticationProvider(authenticationProvider())
+                .httpBasic(basic -> basic.authenticationEntryPoint(customAuthenticationEntryPoint))
+                .oauth2ResourceServer(resourceServer -> resourceServer
+                        .jwt(jwt -> jwt.decoder(tokenService.accessTokenDecoder()))
+                        .authenticationEntryPoint(customAuthenticationEntryPoint)
                 )
-                .userDetailsService(userDetailsService)
-                .httpBasic(Customizer.withDefaults())
                 .exceptionHandling(exceptions ->
                         exceptions.authenticationEntryPoint(customAuthenticationEntryPoint)
                 )
@@ -82,18 +120,38 @@ public class SecurityConfig {
                                 .userService(unifiedOAuth2UserService::loadUser)
                                 .oidcUserService(unifiedOAuth2UserService::loadUser)
                         )
-                        .defaultSuccessUrl(oauthSuccessUrl, true)
+                        .successHandler(oauthSuccessHandler())
                         .failureUrl(oauthFailureUrl)
                 );
         return http.build();
     }
 
+    /**
+     * In stateless mode nothing is kept in the session after the OAuth dance,
+     * so the tokens travel back to the frontend in the redirect's fragment.
+     */
+    private AuthenticationSuccessHandler oauthSuccessHandler() {
+        if (!stateless) {
+            SimpleUrlAuthenticationSuccessHandler handler = new SimpleUrlAuthenticationSuccessHandler(oauthSuccessUrl);
+            handler.setAlwaysUseDefaultTargetUrl(true);
+            return handler;
+        }
+        return (request, response, authentication) -> {
+            TokenService.TokenPair tokens = tokenService.issue(authentication.getName());
+            String fragment = "access_token=" + tokens.accessToken()
+                    + "&refresh_token=" + tokens.refreshToken()
+                    + "&expires_in=" + tokens.expiresIn();
+            response.sendRedirect(oauthSuccessUrl + "#" + fragment);
+        };
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(allowedOrigins);
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         config.setAllowedHeaders(Arrays.asList("*"));
+        config.setExposedHeaders(List.of(ReadConsistencyService.READ_AFTER_HEADER));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -101,8 +159,10 @@ public class SecurityConfig {
         return source;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    private AuthenticationProvider authenticationProvider() {
+        DaoAuthenticationProvider dao = new DaoAuthenticationProvider(passwordEncoder);
+        dao.setUserDetailsService(userDetailsService);
+        dao.setUserDetailsPasswordService(userDetailsPasswordService);
+        return new CachingAuthenticationProvider(dao, verifiedCredentialCache);
     }
 }
@@ -0,0 +1,29 @@
+package com.blog.Blog_Backend.config;
+
+import com.blog.Blog_Backend.service.MailDeliveryService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/smtp}: circuit breaker state and backlog of outgoing mail.
+ * Kept out of {@code /actuator/health} on purpose, since a mail outage should
+ * not mark the whole service as down.
+ */
+@Component
+@Endpoint(id = "smtp")
+public class SmtpEndpoint {
+
+    private final MailDeliveryService mailDeliveryService;
+
+    public SmtpEndpoint(MailDeliveryService mailDeliveryService) {
+        this.mailDeliveryService = mailDeliveryService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> smtp() {
+        return mailDeliveryService.describe();
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Remembers recent successful password checks for a short time, keyed by email.
+ * Only an HMAC of the presented credentials is kept, under a key that never
+ * leaves the process, so a heap dump does not reveal usable passwords.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    private final Cache<String, Entry> entries;
+    private final SecretKeySpec digestKey;
+
+    public VerifiedCredentialCache(@Value("${app.auth.credential-cache.ttl:5m}") Duration ttl,
+                                   @Value("${app.auth.credential-cache.max-size:10000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    public UserDetails lookup(String email, String rawPassword) {
+        Entry entry = entries.getIfPresent(email);
+        if (entry == null) {
+            return null;
+        }
+        return MessageDigest.isEqual(entry.digest, digest(email, rawPassword)) ? entry.principal : null;
+    }
+
+    public void put(String email, String rawPassword, UserDetails principal) {
+        entries.put(email, new Entry(digest(email, rawPassword), principal));
+    }
+
+    public void evict(String email) {
+        entries.invalidate(email);
+    }
+
+    private byte[] digest(String email, String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(digestKey);
+            mac.update(email.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private record Entry(byte[] digest, UserDetails principal) {
+    }
+}
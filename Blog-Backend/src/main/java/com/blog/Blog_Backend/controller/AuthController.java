@@ -1,8 +1,15 @@
 package com.blog.Blog_Backend.controller;
 
+import com.blog.Blog_Backend.service.TokenService;
 import com.blog.Blog_Backend.utility.SecurityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -12,10 +19,39 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    @Autowired
+    private TokenService tokenService;
+
     @GetMapping("/check")
     public ResponseEntity<Map<String, Boolean>> checkAuthentication() {
         String email = SecurityUtils.getCurrentUserEmail();
         boolean isAuthenticated = email != null;
         return ResponseEntity.ok(Map.of("isAuthenticated", isAuthenticated));
     }
+
+    /**
+     * Exchanges a Basic or OAuth login for a token pair. Bearer access tokens
+     * are refused, so a leaked access token cannot mint refresh tokens that
+     * outlive it or survive a password change.
+     */
+    @PostMapping("/token")
+    public ResponseEntity<TokenService.TokenPair> issueToken() {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(tokenService.issue(email));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenService.TokenPair> refreshToken(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(tokenService.refresh(refreshToken));
+    }
 }
@@ -1,14 +1,36 @@
 package com.blog.Blog_Backend.controller;
 
+import com.blog.Blog_Backend.dto.AuthorCard;
+import com.blog.Blog_Backend.dto.BlogDetail;
+import com.blog.Blog_Backend.dto.BlogFeedItem;
+import com.blog.Blog_Backend.dto.PostPage;
+import com.blog.Blog_Backend.dto.RelatedPost;
 import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.FacetCount;
+import com.blog.Blog_Backend.entity.Reaction.TargetType;
 import com.blog.Blog_Backend.entity.User;
 import com.blog.Blog_Backend.repository.BlogPostRepository;
 import com.blog.Blog_Backend.service.BlogPostService;
+import com.blog.Blog_Backend.service.ContentRenderer;
 import com.blog.Blog_Backend.service.EmailService;
+import com.blog.Blog_Backend.service.FacetCounter;
+import com.blog.Blog_Backend.service.FeedItemAssembler;
+import com.blog.Blog_Backend.service.FeedResponseCache;
+import com.blog.Blog_Backend.service.ReactionService;
+import com.blog.Blog_Backend.service.ReadConsistencyService;
+import com.blog.Blog_Backend.service.RelatedPostsIndex;
+import com.blog.Blog_Backend.service.TrendingService;
+import com.blog.Blog_Backend.service.UniqueReaderService;
 import com.blog.Blog_Backend.service.UserService;
+import com.blog.Blog_Backend.service.ViewCounter;
+import com.blog.Blog_Backend.utility.ContentEncoding;
+import com.blog.Blog_Backend.utility.DecayedRanking;
 import com.blog.Blog_Backend.utility.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,6 +43,14 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/blogs")
 public class BlogPostController {
 
+    private static final int MAX_REACTION_STATUS_BATCH = 200;
+    private static final int MAX_TRENDING_LIMIT = 50;
+    private static final int MAX_RELATED_LIMIT = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_FACETS = 200;
+    private static final int MAX_SEARCH_RESULTS = 200;
+    private static final int MAX_SEARCH_LENGTH = 200;
+
     @Autowired
     private BlogPostService service;
 
@@ -33,12 +63,40 @@ public class BlogPostController {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private FeedResponseCache feedResponseCache;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private UniqueReaderService uniqueReaderService;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private FeedItemAssembler feedItemAssembler;
+
+    @Autowired
+    private ContentRenderer contentRenderer;
+
+    @Autowired
+    private RelatedPostsIndex relatedPostsIndex;
+
+    @Autowired
+    private FacetCounter facetCounter;
+
     @PostMapping(consumes = {"multipart/form-data"})
     public ResponseEntity<BlogPost> createBlog(
             @RequestPart("title") String title,
             @RequestPart("content") String content,
             @RequestPart(value = "language", required = false) String language,
             @RequestPart(value = "code", required = false) String code,
+            @RequestPart(value = "tags", required = false) String tags,
             @RequestPart(value = "image", required = false) MultipartFile image
     ) {
         String email = SecurityUtils.getCurrentUserEmail();
@@ -47,6 +105,7 @@ public class BlogPostController {
         }
 
         BlogPost blog = new BlogPost();
+        blog.setTags(splitTags(tags));
         blog.setTitle(title);
         blog.setContent(content);
         blog.setCodeLanguage(language);
@@ -71,6 +130,7 @@ public class BlogPostController {
             @RequestPart("content") String content,
             @RequestPart(value = "language", required = false) String language,
             @RequestPart(value = "code", required = false) String code,
+            @RequestPart(value = "tags", required = false) String tags,
             @RequestPart(value = "image", required = false) MultipartFile image
     ) {
         String email = SecurityUtils.getCurrentUserEmail();
@@ -87,6 +147,8 @@ public class BlogPostController {
         updates.setContent(content);
         updates.setCodeLanguage(language);
         updates.setCodeSnippet(code);
+        // Clients that do not send tags leave the existing ones alone.
+        updates.setTags(tags != null ? splitTags(tags) : null);
         if (image != null && !image.isEmpty()) {
             try {
                 updates.setImage(image.getBytes());
@@ -100,86 +162,245 @@ public class BlogPostController {
         return ResponseEntity.ok(updated);
     }
 
-    @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllBlogs() {
-        List<BlogPost> blogs = service.getAllBlogs();
-
-        Set<String> authorEmails = blogs.stream()
-                .map(BlogPost::getAuthorEmail)
-                .collect(Collectors.toSet());
-        Map<String, User> authors = userService.getUsersByEmails(authorEmails);
-
-        Map<String, String> encodedImages = service.getEncodedImages(blogs); // New method for cached encoding
-
-        List<Map<String, Object>> response = new ArrayList<>(blogs.size());
-        for (BlogPost blog : blogs) {
-            Map<String, Object> blogData = new HashMap<>(12);
-            blogData.put("id", blog.getId());
-            blogData.put("title", blog.getTitle());
-            blogData.put("content", blog.getContent());
-            blogData.put("codeLanguage", blog.getCodeLanguage());
-            blogData.put("codeSnippet", blog.getCodeSnippet());
-            blogData.put("image", encodedImages.get(blog.getId()));
-            blogData.put("createdAt", blog.getCreatedAt());
-            blogData.put("updatedAt", blog.getUpdatedAt());
-            blogData.put("authorEmail", blog.getAuthorEmail());
-
-            User author = authors.get(blog.getAuthorEmail());
-            if (author != null) {
-                Map<String, Object> authorInfo = new HashMap<>(6);
-                authorInfo.put("name", author.getName());
-                authorInfo.put("photo", author.getPhoto());
-                authorInfo.put("about", author.getAbout());
-                authorInfo.put("linkedin", author.getLinkedin());
-                authorInfo.put("github", author.getGithub());
-                authorInfo.put("twitter", author.getTwitter());
-                blogData.put("author", authorInfo);
-            }
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getAllBlogs(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = ReadConsistencyService.READ_AFTER_HEADER, required = false) String readAfter
+    ) {
+        if (readAfter != null) {
+            // The caller just wrote something; skip the shared cache so the read honours its token.
+            return ResponseEntity.ok(buildFeed());
+        }
+
+        FeedResponseCache.Body body = feedResponseCache.get(acceptEncoding, this::buildFeed);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.encoding() != ContentEncoding.IDENTITY) {
+            response.header(HttpHeaders.CONTENT_ENCODING, body.encoding().token());
+        }
+        return response.body(body.bytes());
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<Map<String, Object>> getFilteredBlogs(
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String language,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (tag == null && language == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "tag or language is required");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PostPage page = service.getBlogsFiltered(tag, language, cursor, limit);
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", feedItemAssembler.assemble(page.posts()));
+        response.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(response);
+    }
 
-            response.add(blogData);
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, List<FacetCounter.Facet>>> getFacets(@RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_FACETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_FACETS);
         }
+        Map<String, List<FacetCounter.Facet>> response = new HashMap<>();
+        response.put("tags", facetCounter.top(FacetCount.Kind.TAG, limit));
+        response.put("languages", facetCounter.top(FacetCount.Kind.LANGUAGE, limit));
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<String>> searchBlogs(
+            @RequestParam("q") String terms,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        if (terms.isBlank() || terms.length() > MAX_SEARCH_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "q must be between 1 and " + MAX_SEARCH_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return ResponseEntity.ok(service.searchBlogIds(terms.strip(), limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<BlogFeedItem>> getTrendingBlogs(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_TRENDING_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_TRENDING_LIMIT);
+        }
+        List<String> ranked = trendingService.top(limit).stream().map(DecayedRanking.Ranked::key).toList();
+        Map<String, BlogPost> byId = new HashMap<>();
+        for (BlogPost blog : service.getBlogsByIds(ranked)) {
+            byId.put(blog.getId(), blog);
+        }
+        List<BlogPost> blogs = new ArrayList<>(ranked.size());
+        for (String blogId : ranked) {
+            BlogPost blog = byId.get(blogId);
+            if (blog != null) {
+                blogs.add(blog);
+            }
+        }
+        return ResponseEntity.ok(feedItemAssembler.assemble(blogs));
+    }
+
+    private List<BlogFeedItem> buildFeed() {
+        return feedItemAssembler.assemble(service.getAllBlogs());
+    }
+
     @GetMapping("/{blogId}")
-    public ResponseEntity<Map<String, Object>> getBlogById(@PathVariable String blogId) {
+    public ResponseEntity<BlogDetail> getBlogById(@PathVariable String blogId, HttpServletRequest request) {
         BlogPost blog = service.getBlogById(blogId);
+        viewCounter.record(blogId);
+        trendingService.recordView(blogId);
+        uniqueReaderService.record(blogId, readerId(request));
 
         Set<String> allAuthorEmails = service.extractAuthorEmailsFromComments(blog.getComments());
         allAuthorEmails.add(blog.getAuthorEmail());
         Map<String, User> authors = userService.getUsersByEmails(allAuthorEmails);
 
+        User author = authors.get(blog.getAuthorEmail());
+        if (author == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Author not found");
+        }
+
         Map<String, String> emailToNameMap = authors.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getName()));
 
-        Map<String, Object> response = new HashMap<>(16);
-        response.put("id", blog.getId());
-        response.put("title", blog.getTitle());
-        response.put("content", blog.getContent());
-        response.put("codeLanguage", blog.getCodeLanguage());
-        response.put("codeSnippet", blog.getCodeSnippet());
-        response.put("image", blog.getImage() != null ?
-                Base64.getEncoder().encodeToString(blog.getImage()) : null);
-        response.put("createdAt", blog.getCreatedAt());
-        response.put("updatedAt", blog.getUpdatedAt());
-        response.put("authorEmail", blog.getAuthorEmail());
+        String image = blog.getImage() != null ?
+                Base64.getEncoder().encodeToString(blog.getImage()) : null;
+
+        return ResponseEntity.ok(BlogDetail.of(
+                blog,
+                contentRenderer.current(blog),
+                image,
+                AuthorCard.from(author),
+                service.transformCommentsWithNames(blog.getComments(), emailToNameMap,
+                        reactionService.totals(TargetType.COMMENT, service.extractCommentIds(blog.getComments()))),
+                viewCounter.total(blogId),
+                reactionService.total(TargetType.POST, blogId)
+        ));
+    }
 
-        User author = authors.get(blog.getAuthorEmail());
-        if (author == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Author not found");
+    @GetMapping("/{blogId}/related")
+    public ResponseEntity<List<RelatedPost>> getRelatedBlogs(@PathVariable String blogId,
+                                                             @RequestParam(defaultValue = "5") int limit) {
+        if (limit < 1 || limit > MAX_RELATED_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_RELATED_LIMIT);
+        }
+        return ResponseEntity.ok(relatedPostsIndex.related(blogId, limit));
+    }
+
+    @GetMapping("/{blogId}/readers")
+    public ResponseEntity<UniqueReaderService.Estimate> getUniqueReaders(
+            @PathVariable String blogId,
+            @RequestParam(defaultValue = "day") String window
+    ) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        UniqueReaderService.Window parsed;
+        try {
+            parsed = UniqueReaderService.Window.valueOf(window.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "window must be one of day, week, all");
+        }
+        BlogPost blog = service.getBlogById(blogId);
+        if (!email.equals(blog.getAuthorEmail())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the author can view reader statistics");
+        }
+        return ResponseEntity.ok(uniqueReaderService.estimate(blogId, parsed));
+    }
+
+    private static List<String> splitTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(tags.split(",")));
+    }
+
+    private static String readerId(HttpServletRequest request) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email != null) {
+            return email;
         }
+        return "anon:" + request.getRemoteAddr() + '|' + request.getHeader(HttpHeaders.USER_AGENT);
+    }
+
+    @PutMapping("/{blogId}/reactions")
+    public ResponseEntity<Map<String, Object>> reactToBlog(@PathVariable String blogId) {
+        return changeReaction(blogId, TargetType.POST, blogId, true);
+    }
+
+    @DeleteMapping("/{blogId}/reactions")
+    public ResponseEntity<Map<String, Object>> unreactToBlog(@PathVariable String blogId) {
+        return changeReaction(blogId, TargetType.POST, blogId, false);
+    }
+
+    @PutMapping("/{blogId}/comments/{commentId}/reactions")
+    public ResponseEntity<Map<String, Object>> reactToComment(@PathVariable String blogId,
+                                                              @PathVariable String commentId) {
+        return changeReaction(blogId, TargetType.COMMENT, commentId, true);
+    }
+
+    @DeleteMapping("/{blogId}/comments/{commentId}/reactions")
+    public ResponseEntity<Map<String, Object>> unreactToComment(@PathVariable String blogId,
+                                                                @PathVariable String commentId) {
+        return changeReaction(blogId, TargetType.COMMENT, commentId, false);
+    }
 
-        Map<String, Object> authorInfo = new HashMap<>(6);
-        authorInfo.put("name", author.getName());
-        authorInfo.put("photo", author.getPhoto());
-        authorInfo.put("about", author.getAbout());
-        authorInfo.put("linkedin", author.getLinkedin());
-        authorInfo.put("github", author.getGithub());
-        authorInfo.put("twitter", author.getTwitter());
-        response.put("author", authorInfo);
+    @PostMapping("/reactions/status")
+    public ResponseEntity<Map<String, Boolean>> getReactionStatuses(@RequestBody Map<String, List<String>> request) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        List<String> blogIds = request.get("blogIds");
+        if (blogIds == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "blogIds is required");
+        }
+        if (blogIds.size() > MAX_REACTION_STATUS_BATCH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_REACTION_STATUS_BATCH + " blogIds per request");
+        }
+        Set<String> reacted = reactionService.reactedTo(email, TargetType.POST, blogIds);
+        Map<String, Boolean> statuses = new LinkedHashMap<>();
+        for (String blogId : blogIds) {
+            statuses.put(blogId, reacted.contains(blogId));
+        }
+        return ResponseEntity.ok(statuses);
+    }
 
-        response.put("comments", service.transformCommentsWithNames(blog.getComments(), emailToNameMap));
+    private ResponseEntity<Map<String, Object>> changeReaction(String blogId, TargetType type, String targetId,
+                                                               boolean react) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        if (type == TargetType.POST) {
+            if (!blogPostRepository.existsById(blogId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found");
+            }
+        } else {
+            service.requireComment(blogId, targetId);
+        }
 
+        if (react) {
+            reactionService.react(email, type, targetId, blogId);
+        } else {
+            reactionService.unreact(email, type, targetId, blogId);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("reacted", react);
+        response.put("count", reactionService.total(type, targetId));
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,100 @@
+package com.blog.Blog_Backend.controller;
+
+import com.blog.Blog_Backend.dto.DraftPatch;
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.Draft;
+import com.blog.Blog_Backend.service.DraftService;
+import com.blog.Blog_Backend.utility.SecurityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/drafts")
+public class DraftController {
+
+    @Autowired
+    private DraftService draftService;
+
+    @PostMapping
+    public ResponseEntity<Draft> createDraft(@RequestBody(required = false) Map<String, String> body) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        String blogId = body != null ? body.get("blogId") : null;
+        return new ResponseEntity<>(draftService.create(email, blogId), HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Draft>> getDrafts() {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(draftService.list(email));
+    }
+
+    @GetMapping("/{draftId}")
+    public ResponseEntity<Draft> getDraft(@PathVariable String draftId) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(draftService.get(email, draftId));
+    }
+
+    @PatchMapping("/{draftId}")
+    public ResponseEntity<Map<String, Long>> patchDraft(@PathVariable String draftId, @RequestBody DraftPatch patch) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        long version = draftService.applyPatch(email, draftId, patch);
+        return ResponseEntity.ok(Map.of("version", version));
+    }
+
+    @PutMapping(value = "/{draftId}/image", consumes = {"multipart/form-data"})
+    public ResponseEntity<Map<String, Long>> updateDraftImage(@PathVariable String draftId,
+                                                              @RequestParam long baseVersion,
+                                                              @RequestPart("image") MultipartFile image) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        byte[] bytes;
+        try {
+            bytes = image.getBytes();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to read file");
+        }
+        long version = draftService.setImage(email, draftId, baseVersion, bytes);
+        return ResponseEntity.ok(Map.of("version", version));
+    }
+
+    @PostMapping("/{draftId}/publish")
+    public ResponseEntity<BlogPost> publishDraft(@PathVariable String draftId, @RequestParam long version) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(draftService.publish(email, draftId, version));
+    }
+
+    @DeleteMapping("/{draftId}")
+    public ResponseEntity<Void> deleteDraft(@PathVariable String draftId) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        draftService.delete(email, draftId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.Blog_Backend.controller;
+
+import com.blog.Blog_Backend.dto.BlogFeedItem;
+import com.blog.Blog_Backend.dto.PostPage;
+import com.blog.Blog_Backend.service.FeedItemAssembler;
+import com.blog.Blog_Backend.service.FollowingFeedService;
+import com.blog.Blog_Backend.utility.SecurityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private FollowingFeedService followingFeedService;
+
+    @Autowired
+    private FeedItemAssembler feedItemAssembler;
+
+    @GetMapping("/following")
+    public ResponseEntity<Map<String, Object>> getFollowingFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        PostPage page = followingFeedService.page(email, cursor, limit);
+        List<BlogFeedItem> items = feedItemAssembler.assemble(page.posts());
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        response.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,7 +2,10 @@ package com.blog.Blog_Backend.controller;
 
 import com.blog.Blog_Backend.entity.GeneralSubscriber;
 import com.blog.Blog_Backend.repository.GeneralSubscriberRepository;
+import com.blog.Blog_Backend.service.EmailMembershipFilter;
+import com.blog.Blog_Backend.service.EmailMembershipFilter.EmailSet;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +17,9 @@ public class GeneralSubscriberController {
     @Autowired
     private GeneralSubscriberRepository generalSubscriberRepository;
 
+    @Autowired
+    private EmailMembershipFilter membershipFilter;
+
     @PostMapping
     public ResponseEntity<?> subscribe(@RequestBody GeneralSubscriber subscriber) {
         try {
@@ -21,13 +27,19 @@ public class GeneralSubscriberController {
                 return ResponseEntity.badRequest().body(new ErrorResponse("Email is required"));
             }
 
-            if (generalSubscriberRepository.existsByEmail(subscriber.getEmail())) {
+            if (membershipFilter.mightContain(EmailSet.GENERAL_SUBSCRIBERS, subscriber.getEmail())
+                    && generalSubscriberRepository.existsByEmail(subscriber.getEmail())) {
                 return ResponseEntity.status(HttpStatus.CONFLICT)
                         .body(new ErrorResponse("Email is already subscribed"));
             }
 
-            GeneralSubscriber savedSubscriber = generalSubscriberRepository.save(subscriber);
+            subscriber.setId(null);
+            GeneralSubscriber savedSubscriber = generalSubscriberRepository.insert(subscriber);
+            membershipFilter.add(EmailSet.GENERAL_SUBSCRIBERS, savedSubscriber.getEmail());
             return ResponseEntity.ok(savedSubscriber);
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("Email is already subscribed"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse("Failed to subscribe: " + e.getMessage()));
@@ -1,14 +1,21 @@
 package com.blog.Blog_Backend.controller;
 
+import com.blog.Blog_Backend.entity.DeliveryPreference;
 import com.blog.Blog_Backend.entity.Notification;
 import com.blog.Blog_Backend.repository.NotificationRepository;
+import com.blog.Blog_Backend.service.DigestService;
+import com.blog.Blog_Backend.service.ReadConsistencyService;
+import com.blog.Blog_Backend.service.ReadConsistencyService.QueryClass;
 import com.blog.Blog_Backend.utility.SecurityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -17,13 +24,21 @@ public class NotificationController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private ReadConsistencyService consistency;
+
+    @Autowired
+    private DigestService digestService;
+
     @GetMapping
     public ResponseEntity<List<Notification>> getAllNotifications() {
         String email = SecurityUtils.getCurrentUserEmail();
         if (email == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
-        List<Notification> notifications = notificationRepository.findByUserEmail(email);
+        Query query = Query.query(Criteria.where("userEmail").is(email))
+                .withReadPreference(consistency.preferenceFor(QueryClass.NOTIFICATIONS));
+        List<Notification> notifications = consistency.read(ops -> ops.find(query, Notification.class));
         return ResponseEntity.ok(notifications);
     }
 
@@ -33,10 +48,37 @@ public class NotificationController {
         if (email == null) {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
-        List<Notification> notifications = notificationRepository.findByUserEmailAndIsReadFalse(email);
+        Query query = Query.query(Criteria.where("userEmail").is(email).and("isRead").is(false))
+                .withReadPreference(consistency.preferenceFor(QueryClass.NOTIFICATIONS));
+        List<Notification> notifications = consistency.read(ops -> ops.find(query, Notification.class));
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/preferences")
+    public ResponseEntity<Map<String, String>> getDeliveryPreference() {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        return ResponseEntity.ok(Map.of("frequency", digestService.getFrequency(email).name()));
+    }
+
+    @PutMapping("/preferences")
+    public ResponseEntity<Map<String, String>> updateDeliveryPreference(@RequestBody Map<String, String> request) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        DeliveryPreference.Frequency frequency;
+        try {
+            frequency = DeliveryPreference.Frequency.valueOf(String.valueOf(request.get("frequency")).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        DeliveryPreference preference = digestService.setFrequency(email, frequency);
+        return ResponseEntity.ok(Map.of("frequency", preference.getFrequency().name()));
+    }
+
     @PostMapping("/mark-read")
     public ResponseEntity<?> markAllNotificationsAsRead() {
         String email = SecurityUtils.getCurrentUserEmail();
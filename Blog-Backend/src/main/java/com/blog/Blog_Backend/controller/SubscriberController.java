@@ -1,7 +1,7 @@
 package com.blog.Blog_Backend.controller;
 
-import com.blog.Blog_Backend.entity.Subscriber;
-import com.blog.Blog_Backend.repository.SubscriberRepository;
+import com.blog.Blog_Backend.entity.SubscriptionCounter;
+import com.blog.Blog_Backend.service.SubscriptionService;
 import com.blog.Blog_Backend.utility.SecurityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -9,14 +9,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/subscribers")
 public class SubscriberController {
 
+    private static final int MAX_STATUS_BATCH = 200;
+
     @Autowired
-    private SubscriberRepository subscriberRepository;
+    private SubscriptionService subscriptionService;
 
     @PostMapping("/author/email/{authorEmail}")
     public ResponseEntity<?> subscribeToAuthor(@PathVariable String authorEmail) {
@@ -26,21 +29,15 @@ public class SubscriberController {
         }
 
         try {
-            Subscriber subscriber = subscriberRepository.findByEmail(email)
-                    .orElseGet(() -> {
-                        Subscriber newSubscriber = new Subscriber();
-                        newSubscriber.setEmail(email);
-                        return newSubscriber;
-                    });
-
-            if (subscriber.getSubscribedAuthors().contains(authorEmail)) {
+            if (!subscriptionService.subscribe(email, authorEmail)) {
                 return ResponseEntity.status(HttpStatus.CONFLICT)
                         .body(new ErrorResponse("Already subscribed to this author"));
             }
-
-            subscriber.getSubscribedAuthors().add(authorEmail);
-            Subscriber savedSubscriber = subscriberRepository.save(subscriber);
-            return ResponseEntity.ok(savedSubscriber);
+            Map<String, Object> response = new HashMap<>();
+            response.put("email", email);
+            response.put("authorEmail", authorEmail);
+            response.put("followers", subscriptionService.counts(authorEmail).getFollowers());
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponse("Failed to subscribe: " + e.getMessage()));
@@ -55,20 +52,10 @@ public class SubscriberController {
         }
 
         try {
-            Subscriber subscriber = subscriberRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Subscriber not found"));
-
-            if (!subscriber.getSubscribedAuthors().contains(authorEmail)) {
+            if (!subscriptionService.unsubscribe(email, authorEmail)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(new ErrorResponse("Not subscribed to this author"));
             }
-
-            subscriber.getSubscribedAuthors().remove(authorEmail);
-            if (subscriber.getSubscribedAuthors().isEmpty()) {
-                subscriberRepository.delete(subscriber);
-            } else {
-                subscriberRepository.save(subscriber);
-            }
             return ResponseEntity.ok(new SuccessResponse("Unsubscribed successfully"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -83,12 +70,35 @@ public class SubscriberController {
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
-        boolean isSubscribed = subscriberRepository.findByEmail(email)
-                .map(subscriber -> subscriber.getSubscribedAuthors().contains(authorEmail))
-                .orElse(false);
-
         Map<String, Boolean> response = new HashMap<>();
-        response.put("isSubscribed", isSubscribed);
+        response.put("isSubscribed", subscriptionService.isSubscribed(email, authorEmail));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/status")
+    public ResponseEntity<?> getSubscriptionStatuses(@RequestBody Map<String, List<String>> request) {
+        String email = SecurityUtils.getCurrentUserEmail();
+        if (email == null) {
+            return new ResponseEntity<>(new ErrorResponse("User not authenticated"), HttpStatus.UNAUTHORIZED);
+        }
+
+        List<String> authorEmails = request.get("authorEmails");
+        if (authorEmails == null) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("authorEmails is required"));
+        }
+        if (authorEmails.size() > MAX_STATUS_BATCH) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("At most " + MAX_STATUS_BATCH + " authors per request"));
+        }
+        return ResponseEntity.ok(subscriptionService.statuses(email, authorEmails));
+    }
+
+    @GetMapping("/author/email/{authorEmail}/counts")
+    public ResponseEntity<Map<String, Long>> getSubscriptionCounts(@PathVariable String authorEmail) {
+        SubscriptionCounter counter = subscriptionService.counts(authorEmail);
+        Map<String, Long> response = new HashMap<>();
+        response.put("followers", counter.getFollowers());
+        response.put("following", counter.getFollowing());
         return ResponseEntity.ok(response);
     }
 
@@ -57,6 +57,8 @@ public class UserController {
             response.put("message", "User registered. Please verify your email with the OTP sent.");
             response.put("email", user.getEmail());
             return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to create user", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create user");
@@ -0,0 +1,26 @@
+package com.blog.Blog_Backend.dto;
+
+import com.blog.Blog_Backend.entity.User;
+
+public record AuthorCard(
+        String name,
+        String photo,
+        String about,
+        String linkedin,
+        String github,
+        String twitter
+) {
+    public static AuthorCard from(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new AuthorCard(
+                user.getName(),
+                user.getPhoto(),
+                user.getAbout(),
+                user.getLinkedin(),
+                user.getGithub(),
+                user.getTwitter()
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package com.blog.Blog_Backend.dto;
+
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.RenderedContent;
+
+import java.util.Date;
+import java.util.List;
+
+public record BlogDetail(
+        String id,
+        String title,
+        String content,
+        String contentHtml,
+        String codeLanguage,
+        String codeSnippet,
+        String codeHtml,
+        List<String> tags,
+        String image,
+        Date createdAt,
+        Date updatedAt,
+        String authorEmail,
+        AuthorCard author,
+        List<CommentNode> comments,
+        long viewCount,
+        long reactionCount,
+        int wordCount,
+        int readingMinutes
+) {
+    public static BlogDetail of(BlogPost blog, RenderedContent rendered, String encodedImage, AuthorCard author, List<CommentNode> comments,
+                                long viewCount, long reactionCount) {
+        return new BlogDetail(
+                blog.getId(),
+                blog.getTitle(),
+                blog.getContent(),
+                rendered.getHtml(),
+                blog.getCodeLanguage(),
+                blog.getCodeSnippet(),
+                rendered.getCodeHtml(),
+                blog.getTags(),
+                encodedImage,
+                blog.getCreatedAt(),
+                blog.getUpdatedAt(),
+                blog.getAuthorEmail(),
+                author,
+                comments,
+                viewCount,
+                reactionCount,
+                rendered.getWordCount(),
+                rendered.getReadingMinutes()
+        );
+    }
+}
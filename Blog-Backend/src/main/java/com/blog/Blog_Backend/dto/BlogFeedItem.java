@@ -0,0 +1,48 @@
+package com.blog.Blog_Backend.dto;
+
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.RenderedContent;
+
+import java.util.Date;
+import java.util.List;
+
+public record BlogFeedItem(
+        String id,
+        String title,
+        String excerpt,
+        String codeLanguage,
+        String codeSnippet,
+        List<String> tags,
+        String image,
+        Date createdAt,
+        Date updatedAt,
+        String authorEmail,
+        AuthorCard author,
+        long viewCount,
+        long reactionCount,
+        int wordCount,
+        int readingMinutes
+) {
+    public static BlogFeedItem of(BlogPost blog, String encodedImage, AuthorCard author, long viewCount,
+                                  long reactionCount) {
+        // Posts not yet re-rendered by ContentRenderer's backfill have no excerpt for a moment.
+        RenderedContent rendered = blog.getRendered();
+        return new BlogFeedItem(
+                blog.getId(),
+                blog.getTitle(),
+                rendered != null ? rendered.getExcerpt() : null,
+                blog.getCodeLanguage(),
+                blog.getCodeSnippet(),
+                blog.getTags(),
+                encodedImage,
+                blog.getCreatedAt(),
+                blog.getUpdatedAt(),
+                blog.getAuthorEmail(),
+                author,
+                viewCount,
+                reactionCount,
+                rendered != null ? rendered.getWordCount() : 0,
+                rendered != null ? rendered.getReadingMinutes() : 0
+        );
+    }
+}
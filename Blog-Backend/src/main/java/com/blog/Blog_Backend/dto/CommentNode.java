@@ -0,0 +1,14 @@
+package com.blog.Blog_Backend.dto;
+
+import java.util.Date;
+import java.util.List;
+
+public record CommentNode(
+        String id,
+        String content,
+        String author,
+        Date createdAt,
+        List<CommentNode> replies,
+        long reactionCount
+) {
+}
@@ -0,0 +1,32 @@
+package com.blog.Blog_Backend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * A batch of edits to a draft, applied in order and only if the draft is
+ * still at {@code baseVersion}. Paths name draft fields in JSON Pointer
+ * form: {@code /title}, {@code /content}, {@code /codeSnippet},
+ * {@code /codeLanguage} and {@code /tags}.
+ * <ul>
+ *     <li>{@code {"op": "replace", "path": "/tags", "value": ["java"]}} sets a field.</li>
+ *     <li>{@code {"op": "splice", "path": "/content", "offset": 120, "delete": 3, "insert": "new"}}
+ *     edits a text field in place. Offsets count UTF-16 code units, the same
+ *     as JavaScript string indices.</li>
+ * </ul>
+ */
+public record DraftPatch(
+        long baseVersion,
+        List<Op> ops
+) {
+    public record Op(
+            String op,
+            String path,
+            JsonNode value,
+            Integer offset,
+            Integer delete,
+            String insert
+    ) {
+    }
+}
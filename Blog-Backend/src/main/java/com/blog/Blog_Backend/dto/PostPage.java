@@ -0,0 +1,11 @@
+package com.blog.Blog_Backend.dto;
+
+import com.blog.Blog_Backend.entity.BlogPost;
+
+import java.util.List;
+
+public record PostPage(
+        List<BlogPost> posts,
+        String nextCursor
+) {
+}
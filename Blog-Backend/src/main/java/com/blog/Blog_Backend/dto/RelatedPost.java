@@ -0,0 +1,9 @@
+package com.blog.Blog_Backend.dto;
+
+public record RelatedPost(
+        String id,
+        String title,
+        String authorEmail,
+        double similarity
+) {
+}
@@ -4,6 +4,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -12,16 +13,24 @@ import java.util.List;
 
 @Document(collection = "blogposts")
 @CompoundIndex(name = "author_email_idx", def = "{'authorEmail': 1}")
+@CompoundIndex(name = "author_created_idx", def = "{'authorEmail': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "tags_created_idx", def = "{'tags': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "language_created_idx", def = "{'codeLanguage': 1, 'createdAt': -1, '_id': -1}")
 public class BlogPost {
     @Id
     private String id;
+    @TextIndexed(weight = 3)
     private String title;
     private String authorEmail;
+    @TextIndexed
     private String content;
     private String codeLanguage;
     private String codeSnippet;
+    @TextIndexed(weight = 2)
+    private List<String> tags = new ArrayList<>();
     private byte[] image;
     private List<Comment> comments = new ArrayList<>();
+    private RenderedContent rendered;
     @CreatedDate
     private Date createdAt;
     @LastModifiedDate
@@ -92,6 +101,14 @@ public class BlogPost {
         this.codeLanguage = codeLanguage;
     }
 
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
     public String getCodeSnippet() {
         return codeSnippet;
     }
@@ -116,6 +133,14 @@ public class BlogPost {
         this.comments = comments;
     }
 
+    public RenderedContent getRendered() {
+        return rendered;
+    }
+
+    public void setRendered(RenderedContent rendered) {
+        this.rendered = rendered;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
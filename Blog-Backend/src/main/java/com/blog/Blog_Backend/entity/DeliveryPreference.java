@@ -0,0 +1,68 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * How often a subscriber wants notification email. Subscribers without a
+ * document get {@link Frequency#INSTANT}, the original behaviour.
+ */
+@Document(collection = "delivery_preferences")
+public class DeliveryPreference {
+
+    public enum Frequency {INSTANT, HOURLY, DAILY}
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String email;
+
+    @Indexed
+    private Frequency frequency = Frequency.INSTANT;
+
+    private Date lastDigestAt;
+
+    public DeliveryPreference() {
+    }
+
+    public DeliveryPreference(String email, Frequency frequency) {
+        this.email = email;
+        this.frequency = frequency;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Date getLastDigestAt() {
+        return lastDigestAt;
+    }
+
+    public void setLastDigestAt(Date lastDigestAt) {
+        this.lastDigestAt = lastDigestAt;
+    }
+}
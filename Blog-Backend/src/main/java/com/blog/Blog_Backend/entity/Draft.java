@@ -0,0 +1,145 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Work-in-progress version of a post that the editor autosaves into. A draft
+ * either has no {@code blogId} (a post that has not been published yet) or
+ * belongs to one existing post. It only reaches readers, and subscribers only
+ * hear about it, when it is published. Every accepted change increments
+ * {@code version}.
+ * The image is only set once the draft replaces it, so drafts of existing
+ * posts do not copy theirs.
+ */
+@Document(collection = "drafts")
+@CompoundIndex(name = "author_updated_idx", def = "{'authorEmail': 1, 'updatedAt': -1}")
+@CompoundIndex(name = "blog_idx", def = "{'blogId': 1}", unique = true, sparse = true)
+public class Draft {
+
+    @Id
+    private String id;
+
+    private String authorEmail;
+
+    private String blogId;
+
+    private String title;
+
+    private String content;
+
+    private String codeLanguage;
+
+    private String codeSnippet;
+
+    private List<String> tags = new ArrayList<>();
+
+    private byte[] image;
+
+    private long version;
+
+    private Date createdAt;
+
+    private Date updatedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+
+    public void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getCodeLanguage() {
+        return codeLanguage;
+    }
+
+    public void setCodeLanguage(String codeLanguage) {
+        this.codeLanguage = codeLanguage;
+    }
+
+    public String getCodeSnippet() {
+        return codeSnippet;
+    }
+
+    public void setCodeSnippet(String codeSnippet) {
+        this.codeSnippet = codeSnippet;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public byte[] getImage() {
+        return image;
+    }
+
+    public void setImage(byte[] image) {
+        this.image = image;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,68 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Number of posts carrying one tag or code language, kept by
+ * {@code $inc} from the facet counter. Keyed by {@code "<kind>:<value>"}.
+ * {@code recountedAt} is when the recount that last set it started.
+ */
+@Document(collection = "facet_counts")
+public class FacetCount {
+
+    public enum Kind {TAG, LANGUAGE}
+
+    @Id
+    private String id;
+
+    private Kind kind;
+
+    private String value;
+
+    private long count;
+
+    private Date recountedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Date getRecountedAt() {
+        return recountedAt;
+    }
+
+    public void setRecountedAt(Date recountedAt) {
+        this.recountedAt = recountedAt;
+    }
+}
@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 
 @Document(collection = "notifications")
 @CompoundIndex(name = "user_read_idx", def = "{'userEmail': 1, 'isRead': 1}")
+@CompoundIndex(name = "user_digest_idx", def = "{'userEmail': 1, 'digestPending': 1}")
+@CompoundIndex(name = "blog_recent_idx", def = "{'blogId': 1, 'createdAt': -1}")
 public class Notification {
 
     @Id
@@ -19,6 +21,18 @@ public class Notification {
     private LocalDateTime createdAt;
     private boolean isRead;
 
+    // NEW or UPDATED; null on notifications written before digests existed.
+    private String kind;
+
+    // Waiting to go out in the recipient's next hourly or daily digest.
+    private boolean digestPending;
+
+    // GENERAL or AUTHOR_SUBSCRIBER: which subscription produced it.
+    private String audience;
+
+    // Last time a coalesced update refreshed it; createdAt stays put.
+    private LocalDateTime refreshedAt;
+
     public String getId() {
         return id;
     }
@@ -74,4 +88,36 @@ public class Notification {
     public void setRead(boolean read) {
         isRead = read;
     }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getAudience() {
+        return audience;
+    }
+
+    public void setAudience(String audience) {
+        this.audience = audience;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public boolean isDigestPending() {
+        return digestPending;
+    }
+
+    public void setDigestPending(boolean digestPending) {
+        this.digestPending = digestPending;
+    }
 }
@@ -1,17 +1,21 @@
 package com.blog.Blog_Backend.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "otps")
+@CompoundIndex(name = "email_code_idx", def = "{'email': 1, 'code': 1}")
 public class OTP {
     @Id
     private String id;
     private String email;
     private String code;
     private LocalDateTime createdAt;
+    @Indexed(name = "otp_expiry_ttl", expireAfter = "0s")
     private LocalDateTime expiresAt;
     private boolean used;
 
@@ -0,0 +1,47 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Packed MinHash signature of a post, so the related-posts index can be
+ * rebuilt without re-shingling posts that have not changed since. Keyed by
+ * blog id; {@code sourceUpdatedAt} is the post's {@code updatedAt} the
+ * signature was computed from.
+ */
+@Document(collection = "post_signatures")
+public class PostSignature {
+
+    @Id
+    private String blogId;
+
+    private byte[] signature;
+
+    private Date sourceUpdatedAt;
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public byte[] getSignature() {
+        return signature;
+    }
+
+    public void setSignature(byte[] signature) {
+        this.signature = signature;
+    }
+
+    public Date getSourceUpdatedAt() {
+        return sourceUpdatedAt;
+    }
+
+    public void setSourceUpdatedAt(Date sourceUpdatedAt) {
+        this.sourceUpdatedAt = sourceUpdatedAt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-post counters kept outside {@code blog_posts}, so frequent {@code $inc}
+ * writes never contend with, or get overwritten by, whole-document saves of
+ * the post itself. Keyed by blog id. {@code flushes} holds the ids of the
+ * most recent view flushes applied, so a retried flush is not counted twice.
+ */
+@Document(collection = "post_stats")
+public class PostStats {
+
+    @Id
+    private String blogId;
+
+    private long views;
+
+    private List<String> flushes = new ArrayList<>();
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public long getViews() {
+        return views;
+    }
+
+    public void setViews(long views) {
+        this.views = views;
+    }
+
+    public List<String> getFlushes() {
+        return flushes;
+    }
+
+    public void setFlushes(List<String> flushes) {
+        this.flushes = flushes;
+    }
+}
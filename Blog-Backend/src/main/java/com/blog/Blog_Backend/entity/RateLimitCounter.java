@@ -0,0 +1,48 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Fixed-window counter shared between nodes when {@code app.rate-limit.shared}
+ * is on. The id encodes rule, key and window, so each window is a single
+ * upserted document that Mongo expires on its own.
+ */
+@Document(collection = "rate_limit_counters")
+public class RateLimitCounter {
+
+    @Id
+    private String id;
+
+    private long count;
+
+    @Indexed(name = "rate_limit_expiry_ttl", expireAfter = "0s")
+    private Date expiresAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
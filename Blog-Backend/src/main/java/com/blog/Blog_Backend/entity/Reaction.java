@@ -0,0 +1,82 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * One user's like on a post or comment. The unique index makes reacting
+ * idempotent and also serves the "which of these did I react to" lookup.
+ */
+@Document(collection = "reactions")
+@CompoundIndex(name = "user_target_idx", def = "{'userEmail': 1, 'targetType': 1, 'targetId': 1}", unique = true)
+public class Reaction {
+
+    public enum TargetType {POST, COMMENT}
+
+    @Id
+    private String id;
+
+    private String userEmail;
+
+    private TargetType targetType;
+
+    private String targetId;
+
+    // Owning post, so deleting a post can drop its comment reactions too.
+    @Indexed(name = "reaction_blog_idx")
+    private String blogId;
+
+    private Date createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    public TargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(TargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One shard of a target's reaction total. Writes {@code $inc} a random shard
+ * so likes on a hot post spread over several documents; the total is the sum
+ * over all shards of the target. Individual shards can go negative.
+ */
+@Document(collection = "reaction_counters")
+@CompoundIndex(name = "counter_target_idx", def = "{'targetType': 1, 'targetId': 1}")
+public class ReactionCounter {
+
+    // "<targetType>:<targetId>:<shard>"
+    @Id
+    private String id;
+
+    private Reaction.TargetType targetType;
+
+    private String targetId;
+
+    @Indexed(name = "counter_blog_idx")
+    private String blogId;
+
+    private long count;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Reaction.TargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(Reaction.TargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(String targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
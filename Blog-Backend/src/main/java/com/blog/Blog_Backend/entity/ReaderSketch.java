@@ -0,0 +1,84 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Persisted HyperLogLog registers for one post and one UTC day, or for the
+ * post's whole lifetime when {@code bucket} is {@value #ALL_TIME}. Nodes merge
+ * into these documents with a compare-and-set on {@code version}. Daily
+ * buckets expire; the all-time bucket does not.
+ */
+@Document(collection = "reader_sketches")
+@CompoundIndex(name = "blog_bucket_idx", def = "{'blogId': 1, 'bucket': 1}", unique = true)
+public class ReaderSketch {
+
+    public static final String ALL_TIME = "all";
+
+    @Id
+    private String id;
+
+    private String blogId;
+
+    // ISO date (yyyy-MM-dd) or ALL_TIME.
+    private String bucket;
+
+    private byte[] registers;
+
+    private long version;
+
+    @Indexed(name = "reader_sketch_expiry_ttl", expireAfter = "0s")
+    private Date expiresAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,55 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A refresh token that has been issued and not yet used. Its id is the
+ * token's {@code jti}; refreshing removes the row, so every refresh token
+ * works exactly once and all of a user's tokens can be revoked together.
+ */
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+    @Id
+    private String id;
+    @Indexed(name = "refresh_token_email_idx")
+    private String email;
+    @Indexed(name = "refresh_token_expiry_ttl", expireAfter = "0s")
+    private Date expiresAt;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String id, String email, Date expiresAt) {
+        this.id = id;
+        this.email = email;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
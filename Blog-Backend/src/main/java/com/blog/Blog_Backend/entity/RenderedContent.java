@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.entity;
+
+/**
+ * Derived fields computed from a post's {@code content} and
+ * {@code codeSnippet} when it is written, embedded in the post. Posts whose
+ * {@code version} is behind the renderer's are re-rendered in the background.
+ */
+public class RenderedContent {
+
+    private int version;
+
+    private String html;
+
+    private String codeHtml;
+
+    private String excerpt;
+
+    private int wordCount;
+
+    private int readingMinutes;
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+
+    public void setHtml(String html) {
+        this.html = html;
+    }
+
+    public String getCodeHtml() {
+        return codeHtml;
+    }
+
+    public void setCodeHtml(String codeHtml) {
+        this.codeHtml = codeHtml;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(int wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public int getReadingMinutes() {
+        return readingMinutes;
+    }
+
+    public void setReadingMinutes(int readingMinutes) {
+        this.readingMinutes = readingMinutes;
+    }
+}
@@ -7,6 +7,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Legacy embedded form of author subscriptions. New subscriptions are
+ * {@link Subscription} edges; existing lists are migrated at startup by
+ * {@code SubscriptionService}.
+ */
 @Document(collection = "subscribers")
 public class Subscriber {
 
@@ -16,7 +21,6 @@ public class Subscriber {
     @Indexed(unique = true)
     private String email;
 
-    @Indexed
     private List<String> subscribedAuthors = new ArrayList<>();
 
     public String getId() {
@@ -0,0 +1,60 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * One follower → author edge. The two compound indexes serve both directions:
+ * "whom does this user follow" and the paged "who follows this author" scan
+ * used for notification fan-out. The first index is unique, so concurrent
+ * subscribes cannot create duplicate edges.
+ */
+@Document(collection = "subscriptions")
+@CompoundIndex(name = "subscriber_author_idx", def = "{'subscriberEmail': 1, 'authorEmail': 1}", unique = true)
+@CompoundIndex(name = "author_subscriber_idx", def = "{'authorEmail': 1, 'subscriberEmail': 1}")
+public class Subscription {
+
+    @Id
+    private String id;
+
+    private String subscriberEmail;
+
+    private String authorEmail;
+
+    private Date createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSubscriberEmail() {
+        return subscriberEmail;
+    }
+
+    public void setSubscriberEmail(String subscriberEmail) {
+        this.subscriberEmail = subscriberEmail;
+    }
+
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+
+    public void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
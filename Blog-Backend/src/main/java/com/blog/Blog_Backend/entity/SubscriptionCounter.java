@@ -0,0 +1,43 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Denormalized follower/following totals per user, kept in step with
+ * {@link Subscription} edges through {@code $inc}.
+ */
+@Document(collection = "subscription_counters")
+public class SubscriptionCounter {
+
+    @Id
+    private String email;
+
+    private long followers;
+
+    private long following;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public long getFollowers() {
+        return followers;
+    }
+
+    public void setFollowers(long followers) {
+        this.followers = followers;
+    }
+
+    public long getFollowing() {
+        return following;
+    }
+
+    public void setFollowing(long following) {
+        this.following = following;
+    }
+}
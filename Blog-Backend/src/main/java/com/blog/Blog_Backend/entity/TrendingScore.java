@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Snapshot of one post's trending score on one node as of {@code scoredAt},
+ * used only to rebuild the in-memory ranking after a restart. Keyed by
+ * {@code <node>:<blogId>}.
+ */
+@Document(collection = "trending_scores")
+@CompoundIndex(name = "node_scored_idx", def = "{'node': 1, 'scoredAt': 1}")
+@CompoundIndex(name = "blog_idx", def = "{'blogId': 1}")
+public class TrendingScore {
+
+    @Id
+    private String id;
+
+    private String node;
+
+    private String blogId;
+
+    private double score;
+
+    private Date scoredAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public String getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(String blogId) {
+        this.blogId = blogId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public Date getScoredAt() {
+        return scoredAt;
+    }
+
+    public void setScoredAt(Date scoredAt) {
+        this.scoredAt = scoredAt;
+    }
+}
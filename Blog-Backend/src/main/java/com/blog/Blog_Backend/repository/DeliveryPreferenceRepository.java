@@ -0,0 +1,18 @@
+package com.blog.Blog_Backend.repository;
+
+import com.blog.Blog_Backend.entity.DeliveryPreference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DeliveryPreferenceRepository extends MongoRepository<DeliveryPreference, String> {
+    Optional<DeliveryPreference> findByEmail(String email);
+
+    List<DeliveryPreference> findByEmailIn(Collection<String> emails);
+
+    Page<DeliveryPreference> findByFrequency(DeliveryPreference.Frequency frequency, Pageable pageable);
+}
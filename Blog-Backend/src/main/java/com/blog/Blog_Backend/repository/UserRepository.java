@@ -11,6 +11,13 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Loads only what authentication needs, leaving out the profile photo and
+     * links. The returned {@link User} is partial and must never be saved back.
+     */
+    @Query(value = "{'email': ?0}", fields = "{'email': 1, 'name': 1, 'password': 1, 'isVerified': 1}")
+    Optional<User> findCredentialsByEmail(String email);
+
     @Query(value = "{'email': {$in: ?0}}", fields = "{'name': 1, 'email': 1, 'photo': 1, 'about': 1, 'linkedin': 1, 'github': 1, 'twitter': 1}") // Optimized projection
     List<User> findByEmailIn(List<String> emails);
 }
@@ -0,0 +1,224 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.utility.MailTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Blog notification emails. The templates under {@code classpath:mail/} are
+ * compiled once at startup; {@link #prepare} binds everything that is the same
+ * for every recipient of an event, leaving only the recipient's address to be
+ * filled in per message.
+ */
+@Component
+public class BlogMailTemplates {
+
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    public enum Kind {
+        NEW("New Blog Posted by Your Subscribed Author", "New Blog Posted on AIDEN",
+                "New Blog Posted on AIDEN!", "A new blog titled", "has been posted", "Read it now:"),
+        UPDATED("Blog Updated by Your Subscribed Author", "Blog Updated on AIDEN",
+                "Blog Updated on AIDEN!", "The blog titled", "has been updated", "Check out the updates:");
+
+        private final String authorSubject;
+        private final String generalSubject;
+        private final String heading;
+        private final String intro;
+        private final String action;
+        private final String linkLead;
+
+        Kind(String authorSubject, String generalSubject, String heading, String intro, String action, String linkLead) {
+            this.authorSubject = authorSubject;
+            this.generalSubject = generalSubject;
+            this.heading = heading;
+            this.intro = intro;
+            this.action = action;
+            this.linkLead = linkLead;
+        }
+    }
+
+    public enum Audience {AUTHOR_SUBSCRIBER, GENERAL}
+
+    public record RenderedMail(String subject, String text, String html) {
+    }
+
+    /**
+     * One post in a digest; {@code updates} counts the coalesced update events
+     * and {@code audience} says which subscription the recipient got it through.
+     */
+    public record DigestEntry(String blogId, String title, boolean isNew, int updates,
+                              String authorEmail, Audience audience) {
+    }
+
+    private final String baseUrl;
+    private final MailTemplate html;
+    private final MailTemplate text;
+    private final MailTemplate digestHtml;
+    private final MailTemplate digestText;
+    private final MailTemplate digestItemHtml;
+    private final MailTemplate digestItemText;
+    private final MailTemplate digestUnsubscribeHtml;
+    private final MailTemplate digestUnsubscribeText;
+
+    public BlogMailTemplates(@Value("${app.frontend.base-url}") String frontendBaseUrl) {
+        this.baseUrl = frontendBaseUrl.endsWith("/")
+                ? frontendBaseUrl.substring(0, frontendBaseUrl.length() - 1)
+                : frontendBaseUrl;
+        this.html = MailTemplate.compile(load("mail/blog-event.html"), HtmlUtils::htmlEscape);
+        this.text = MailTemplate.compile(load("mail/blog-event.txt"), UnaryOperator.identity());
+        this.digestHtml = MailTemplate.compile(load("mail/digest.html"), HtmlUtils::htmlEscape);
+        this.digestText = MailTemplate.compile(load("mail/digest.txt"), UnaryOperator.identity());
+        this.digestItemHtml = MailTemplate.compile(load("mail/digest-item.html"), HtmlUtils::htmlEscape);
+        this.digestItemText = MailTemplate.compile(load("mail/digest-item.txt"), UnaryOperator.identity());
+        this.digestUnsubscribeHtml = MailTemplate.compile(load("mail/digest-unsubscribe.html"), HtmlUtils::htmlEscape);
+        this.digestUnsubscribeText = MailTemplate.compile(load("mail/digest-unsubscribe.txt"), UnaryOperator.identity());
+    }
+
+    public Event prepare(Kind kind, String blogTitle, String blogId, String authorEmail) {
+        String blogUrl = baseUrl + "/blog/" + blogId;
+        Map<Audience, Bound> bound = new EnumMap<>(Audience.class);
+        bound.put(Audience.AUTHOR_SUBSCRIBER, bind(kind.authorSubject, Map.of(
+                "heading", kind.heading,
+                "intro", kind.intro,
+                "title", blogTitle,
+                "outro", kind.action + " by your subscribed author.",
+                "linkLead", kind.linkLead,
+                "blogUrl", blogUrl,
+                "unsubscribePrefix", baseUrl + "/unsubscribe/author?authorEmail="
+                        + URLEncoder.encode(authorEmail, StandardCharsets.UTF_8) + "&email=",
+                "unsubscribeText", "Unsubscribe from this author")));
+        bound.put(Audience.GENERAL, bind(kind.generalSubject, Map.of(
+                "heading", kind.heading,
+                "intro", kind.intro,
+                "title", blogTitle,
+                "outro", kind.action + " on AIDEN.",
+                "linkLead", kind.linkLead,
+                "blogUrl", blogUrl,
+                "unsubscribePrefix", baseUrl + "/unsubscribe/general?email=",
+                "unsubscribeText", "Unsubscribe from AIDEN updates")));
+        return new Event(bound);
+    }
+
+    public RenderedMail renderDigest(String recipientEmail, List<DigestEntry> entries) {
+        StringBuilder htmlItems = new StringBuilder(entries.size() * 160);
+        StringBuilder textItems = new StringBuilder(entries.size() * 100);
+        for (DigestEntry entry : entries) {
+            Map<String, String> values = Map.of(
+                    "blogUrl", baseUrl + "/blog/" + entry.blogId(),
+                    "title", entry.title() != null ? entry.title() : "Untitled",
+                    "action", describe(entry));
+            digestItemHtml.renderTo(htmlItems, values);
+            digestItemText.renderTo(textItems, values);
+            textItems.append('\n');
+        }
+
+        String summary = entries.size() == 1
+                ? "1 post was published or updated since your last digest."
+                : entries.size() + " posts were published or updated since your last digest.";
+        String recipient = URLEncoder.encode(recipientEmail, StandardCharsets.UTF_8);
+        // One link per subscription the digest came through, matching the links in the instant emails.
+        Map<String, String> unsubscribes = new LinkedHashMap<>();
+        for (DigestEntry entry : entries) {
+            if (entry.audience() == Audience.AUTHOR_SUBSCRIBER && entry.authorEmail() != null) {
+                unsubscribes.putIfAbsent(baseUrl + "/unsubscribe/author?authorEmail="
+                        + URLEncoder.encode(entry.authorEmail(), StandardCharsets.UTF_8) + "&email=" + recipient,
+                        "Unsubscribe from " + entry.authorEmail());
+            } else {
+                unsubscribes.putIfAbsent(baseUrl + "/unsubscribe/general?email=" + recipient,
+                        "Unsubscribe from AIDEN updates");
+            }
+        }
+        StringBuilder htmlLinks = new StringBuilder(unsubscribes.size() * 160);
+        StringBuilder textLinks = new StringBuilder(unsubscribes.size() * 100);
+        unsubscribes.forEach((url, label) -> {
+            Map<String, String> values = Map.of("unsubscribeUrl", url, "unsubscribeText", label);
+            digestUnsubscribeHtml.renderTo(htmlLinks, values);
+            if (!textLinks.isEmpty()) {
+                textLinks.append('\n');
+            }
+            digestUnsubscribeText.renderTo(textLinks, values);
+        });
+
+        StringBuilder buffer = BUFFER.get();
+        try {
+            buffer.setLength(0);
+            digestHtml.renderTo(buffer, Map.of("summary", summary, "items", htmlItems.toString(), "unsubscribeLinks", htmlLinks.toString()));
+            String renderedHtml = buffer.toString();
+            buffer.setLength(0);
+            digestText.renderTo(buffer, Map.of("summary", summary, "items", textItems.toString(), "unsubscribeLinks", textLinks.toString()));
+            String subject = "Your AIDEN digest: " + entries.size() + (entries.size() == 1 ? " post" : " posts");
+            return new RenderedMail(subject, buffer.toString(), renderedHtml);
+        } finally {
+            if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private static String describe(DigestEntry entry) {
+        if (entry.isNew()) {
+            return entry.updates() > 0 ? "was published and updated" : "was published";
+        }
+        return entry.updates() > 1 ? "was updated " + entry.updates() + " times" : "was updated";
+    }
+
+    private Bound bind(String subject, Map<String, String> values) {
+        return new Bound(subject, html.bind(values), text.bind(values));
+    }
+
+    private static String load(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing mail template " + path, e);
+        }
+    }
+
+    private record Bound(String subject, MailTemplate html, MailTemplate text) {
+    }
+
+    /**
+     * One blog event, ready to be rendered for each recipient.
+     */
+    public static final class Event {
+
+        private final Map<Audience, Bound> bound;
+
+        private Event(Map<Audience, Bound> bound) {
+            this.bound = bound;
+        }
+
+        public RenderedMail render(Audience audience, String recipientEmail) {
+            Bound templates = bound.get(audience);
+            Map<String, String> values = Map.of("recipient", URLEncoder.encode(recipientEmail, StandardCharsets.UTF_8));
+            StringBuilder buffer = BUFFER.get();
+            try {
+                buffer.setLength(0);
+                templates.html().renderTo(buffer, values);
+                String renderedHtml = buffer.toString();
+                buffer.setLength(0);
+                templates.text().renderTo(buffer, values);
+                return new RenderedMail(templates.subject(), buffer.toString(), renderedHtml);
+            } finally {
+                if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+                    BUFFER.remove();
+                }
+            }
+        }
+    }
+}
@@ -1,28 +1,83 @@
 package com.blog.Blog_Backend.service;
 
+import com.blog.Blog_Backend.dto.CommentNode;
+import com.blog.Blog_Backend.dto.PostPage;
 import com.blog.Blog_Backend.entity.BlogPost;
 import com.blog.Blog_Backend.entity.Comment;
+import com.blog.Blog_Backend.entity.Draft;
+import com.blog.Blog_Backend.entity.Reaction.TargetType;
 import com.blog.Blog_Backend.entity.User;
 import com.blog.Blog_Backend.repository.BlogPostRepository;
+import com.blog.Blog_Backend.service.ReadConsistencyService.QueryClass;
+import com.blog.Blog_Backend.utility.FeedCursor;
 import com.blog.Blog_Backend.utility.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 public class BlogPostService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BlogPostService.class);
+
+    public static final int MAX_TAGS = 10;
+    private static final int MAX_TAG_LENGTH = 32;
+    private static final Pattern TAG_DISALLOWED = Pattern.compile("[^\\p{L}\\p{N}+#.-]");
+
     @Autowired
     private BlogPostRepository repo;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private FeedResponseCache feedResponseCache;
+
+    @Autowired
+    private ReadConsistencyService consistency;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private UniqueReaderService uniqueReaderService;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private FollowingFeedService followingFeedService;
+
+    @Autowired
+    private RelatedPostsIndex relatedPostsIndex;
+
+    @Autowired
+    private FacetCounter facetCounter;
+
+    @Autowired
+    private ContentRenderer contentRenderer;
+
     @Cacheable(value = "blogs", key = "#blogs.hashCode()")
     public Map<String, String> getEncodedImages(List<BlogPost> blogs) {
         Map<String, String> encodedImages = new HashMap<>();
@@ -57,7 +112,16 @@ public class BlogPostService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to create a blog for this user");
         }
         blog.setAuthorEmail(email);
-        return repo.save(blog);
+        blog.setTags(normalizeTags(blog.getTags()));
+        blog.setCodeLanguage(normalizeLanguage(blog.getCodeLanguage()));
+        blog.setRendered(contentRenderer.render(blog));
+        BlogPost saved = consistency.write(ops -> ops.save(blog));
+        afterWrite(saved,
+                feedResponseCache::invalidate,
+                () -> followingFeedService.invalidateAuthor(email),
+                () -> relatedPostsIndex.index(saved),
+                () -> facetCounter.added(saved));
+        return saved;
     }
 
     public BlogPost updateBlog(String email, BlogPost updates) {
@@ -73,32 +137,149 @@ public class BlogPostService {
         if (!existing.getAuthorEmail().equals(email)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to update this blog");
         }
+        List<String> oldTags = existing.getTags();
+        String oldLanguage = existing.getCodeLanguage();
         existing.setTitle(updates.getTitle());
         existing.setContent(updates.getContent());
-        existing.setCodeLanguage(updates.getCodeLanguage());
+        existing.setCodeLanguage(normalizeLanguage(updates.getCodeLanguage()));
+        if (updates.getTags() != null) {
+            existing.setTags(normalizeTags(updates.getTags()));
+        }
         existing.setCodeSnippet(updates.getCodeSnippet());
+        // Comments only change through the comment endpoints, never through an edit.
         if (updates.getImage() != null) {
             existing.setImage(updates.getImage());
         }
-        if (updates.getComments() != null) {
-            existing.setComments(updates.getComments());
+        existing.setRendered(contentRenderer.render(existing));
+        BlogPost saved = consistency.write(ops -> ops.save(existing));
+        afterWrite(saved,
+                feedResponseCache::invalidate,
+                () -> relatedPostsIndex.index(saved),
+                () -> facetCounter.changed(oldTags, oldLanguage, saved));
+        return saved;
+    }
+
+    /**
+     * Runs the cache and index updates that follow a saved post. They never
+     * fail the write: a caller that saw an error would retry and save the post
+     * twice, and each of them catches up on its own (cache TTLs, the
+     * related-posts reload, the nightly facet recount).
+     */
+    private void afterWrite(BlogPost saved, Runnable... updates) {
+        for (Runnable update : updates) {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                logger.warn("Post {} was saved, but a follow-up update failed: {}", saved.getId(), e.getMessage());
+            }
         }
-        return repo.save(existing);
     }
 
     public List<BlogPost> getAllBlogs() {
-        return repo.findAll();
+        Query query = new Query()
+                .withReadPreference(consistency.preferenceFor(QueryClass.FEED));
+        excludeBodies(query);
+        return consistency.read(ops -> ops.find(query, BlogPost.class));
     }
 
-    public BlogPost getBlogById(String blogId) {
-        BlogPost blog = repo.findById(blogId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found"));
+    /**
+     * Ids of the posts whose title, tags or full content match {@code terms},
+     * best match first, via the text index.
+     */
+    public List<String> searchBlogIds(String terms, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(terms))
+                .sortByScore()
+                .limit(limit)
+                .withReadPreference(consistency.preferenceFor(QueryClass.FEED));
+        query.fields().include("_id");
+        return consistency.read(ops -> ops.find(query, BlogPost.class)).stream().map(BlogPost::getId).toList();
+    }
 
+    /**
+     * Feed listings of the given posts, in no particular order. Bodies are not loaded.
+     */
+    public List<BlogPost> getBlogsByIds(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids))
+                .withReadPreference(consistency.preferenceFor(QueryClass.FEED));
+        excludeBodies(query);
+        return consistency.read(ops -> ops.find(query, BlogPost.class));
+    }
+
+    /**
+     * Posts after {@code (createdAt, id)} in {@code (createdAt desc, _id desc)}
+     * order. Posts without a createdAt sort last and carry 0 in cursors.
+     */
+    static Criteria olderThan(long createdAt, String id) {
+        if (createdAt <= 0) {
+            return Criteria.where("createdAt").is(null).and("_id").lt(id);
+        }
+        Date date = new Date(createdAt);
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(date),
+                Criteria.where("createdAt").is(date).and("_id").lt(id),
+                Criteria.where("createdAt").is(null));
+    }
+
+    /**
+     * Leaves out what feed listings never show: the full body, its rendered
+     * HTML and the comment thread. Items carry the rendered excerpt instead.
+     */
+    static void excludeBodies(Query query) {
+        query.fields().exclude("content", "rendered.html", "rendered.codeHtml", "comments");
+    }
+
+    /**
+     * One page of posts with {@code tag} and/or {@code language}, newest
+     * first, by keyset on the tag/language indexes. Bodies are not loaded.
+     */
+    public PostPage getBlogsFiltered(String tag, String language, String cursor, int limit) {
+        FeedCursor after;
+        try {
+            after = FeedCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        List<Criteria> filters = new ArrayList<>();
+        if (tag != null) {
+            filters.add(Criteria.where("tags").is(normalizeTag(tag)));
+        }
+        if (language != null) {
+            filters.add(Criteria.where("codeLanguage").is(normalizeLanguage(language)));
+        }
+        if (after != null) {
+            filters.add(olderThan(after.createdAt(), after.id()));
+        }
+        Query query = (filters.isEmpty() ? new Query() : Query.query(new Criteria().andOperator(filters)))
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit + 1)
+                .withReadPreference(consistency.preferenceFor(QueryClass.FEED));
+        excludeBodies(query);
+        List<BlogPost> posts = new ArrayList<>(consistency.read(ops -> ops.find(query, BlogPost.class)));
+
+        String nextCursor = null;
+        if (posts.size() > limit) {
+            posts = posts.subList(0, limit);
+            BlogPost last = posts.get(limit - 1);
+            nextCursor = new FeedCursor(last.getCreatedAt() != null ? last.getCreatedAt().getTime() : 0L, last.getId())
+                    .encode();
+        }
+        return new PostPage(posts, nextCursor);
+    }
+
+    public BlogPost getBlogById(String blogId) {
+        Query query = Query.query(Criteria.where("_id").is(blogId))
+                .withReadPreference(consistency.preferenceFor(QueryClass.POST));
+        BlogPost blog = consistency.read(ops -> ops.findOne(query, BlogPost.class));
+        if (blog == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Blog not found");
+        }
         return blog;
     }
 
     public List<BlogPost> getBlogsByAuthorEmail(String email) {
-        return repo.findByAuthorEmail(email);
+        Query query = Query.query(Criteria.where("authorEmail").is(email))
+                .withReadPreference(consistency.preferenceFor(QueryClass.PROFILE));
+        return consistency.read(ops -> ops.find(query, BlogPost.class));
     }
 
     public void deleteBlog(String blogId) {
@@ -109,6 +290,15 @@ public class BlogPostService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to delete this blog");
         }
         repo.deleteById(blogId);
+        consistency.write(ops -> ops.remove(Query.query(Criteria.where("blogId").is(blogId)), Draft.class));
+        viewCounter.delete(blogId);
+        uniqueReaderService.delete(blogId);
+        reactionService.deleteForBlog(blogId);
+        trendingService.delete(blogId);
+        followingFeedService.invalidateAuthor(blog.getAuthorEmail());
+        relatedPostsIndex.remove(blogId);
+        facetCounter.removed(blog);
+        feedResponseCache.invalidate();
     }
 
     public BlogPost addComment(String blogId, String authorEmail, String content) {
@@ -126,7 +316,9 @@ public class BlogPostService {
         comment.setContent(content);
         comment.setAuthorEmail(authorEmail);
         blog.getComments().add(comment);
-        return repo.save(blog);
+        BlogPost saved = consistency.write(ops -> ops.save(blog));
+        trendingService.recordComment(blogId);
+        return saved;
     }
 
     public BlogPost addReply(String blogId, String parentCommentId, String authorEmail, String content) {
@@ -152,7 +344,16 @@ public class BlogPostService {
 
         parentComment.getReplies().add(reply);
 
-        return repo.save(blog);
+        BlogPost saved = consistency.write(ops -> ops.save(blog));
+        trendingService.recordComment(blogId);
+        return saved;
+    }
+
+    public void requireComment(String blogId, String commentId) {
+        BlogPost blog = getBlogById(blogId);
+        if (findCommentById(blog.getComments(), commentId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Comment not found");
+        }
     }
 
     private Comment findCommentById(List<Comment> comments, String commentId) {
@@ -185,8 +386,12 @@ public class BlogPostService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to delete this comment");
         }
 
+        List<String> removedIds = extractCommentIds(
+                blog.getComments().stream().filter(c -> c.getId().equals(commentId)).toList());
         blog.getComments().removeIf(c -> c.getId().equals(commentId));
-        return repo.save(blog);
+        BlogPost saved = consistency.write(ops -> ops.save(blog));
+        reactionService.deleteForTargets(TargetType.COMMENT, removedIds);
+        return saved;
     }
 
     public BlogPost deleteReply(String blogId, String commentId, String replyId, String authorEmail) {
@@ -212,8 +417,69 @@ public class BlogPostService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to delete this reply");
         }
 
+        List<String> removedIds = extractCommentIds(List.of(reply));
         parentComment.getReplies().removeIf(r -> r.getId().equals(replyId));
-        return repo.save(blog);
+        BlogPost saved = consistency.write(ops -> ops.save(blog));
+        reactionService.deleteForTargets(TargetType.COMMENT, removedIds);
+        return saved;
+    }
+
+    /**
+     * Normalizes code languages stored before {@link #normalizeLanguage} ran on
+     * every write, so {@code ?language=java} also finds legacy "Java" posts.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void normalizeStoredLanguages() {
+        try {
+            Query legacy = Query.query(Criteria.where("codeLanguage").regex("[A-Z]|^\\s|\\s$"));
+            AggregationUpdate normalize = AggregationUpdate.update().set("codeLanguage").toValue(
+                    StringOperators.valueOf(StringOperators.valueOf("codeLanguage").trim()).toLower());
+            long modified = consistency.write(ops -> ops.updateMulti(legacy, normalize, BlogPost.class))
+                    .getModifiedCount();
+            if (modified > 0) {
+                feedResponseCache.invalidate();
+                logger.info("Normalized the code language of {} posts", modified);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not normalize stored code languages: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lower-cases tags, turns spaces into dashes, strips other punctuation and
+     * drops duplicates and blanks.
+     */
+    static List<String> normalizeTags(Collection<String> tags) {
+        if (tags == null) {
+            return new ArrayList<>();
+        }
+        LinkedHashSet<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String value = normalizeTag(tag);
+            if (!value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        if (normalized.size() > MAX_TAGS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A post can have at most " + MAX_TAGS + " tags");
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    private static String normalizeTag(String tag) {
+        if (tag == null) {
+            return "";
+        }
+        String value = TAG_DISALLOWED.matcher(tag.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", "-")).replaceAll("");
+        return value.length() > MAX_TAG_LENGTH ? value.substring(0, MAX_TAG_LENGTH) : value;
+    }
+
+    private static String normalizeLanguage(String language) {
+        if (language == null || language.isBlank()) {
+            return null;
+        }
+        return language.trim().toLowerCase(Locale.ROOT);
     }
 
     public Set<String> extractAuthorEmailsFromComments(List<Comment> comments) {
@@ -227,42 +493,64 @@ public class BlogPostService {
         return emails;
     }
 
-    public List<Map<String, Object>> transformCommentsWithNames(List<Comment> comments, Map<String, String> emailToNameMap) {
-        List<Map<String, Object>> transformed = new ArrayList<>();
-        Deque<Comment> stack = new ArrayDeque<>(comments);
-        Map<Comment, Map<String, Object>> commentMap = new HashMap<>();
+    public List<String> extractCommentIds(List<Comment> comments) {
+        List<String> ids = new ArrayList<>();
+        if (comments == null) return ids;
 
+        for (Comment comment : comments) {
+            ids.add(comment.getId());
+            ids.addAll(extractCommentIds(comment.getReplies()));
+        }
+        return ids;
+    }
+
+    public List<CommentNode> transformCommentsWithNames(List<Comment> comments, Map<String, String> emailToNameMap,
+                                                        Map<String, Long> reactionCounts) {
+        if (comments == null || comments.isEmpty()) {
+            return List.of();
+        }
+        // Walk the thread with an explicit stack so deep reply chains cannot overflow the call stack.
+        Deque<Comment> stack = new ArrayDeque<>(comments);
+        List<Comment> visited = new ArrayList<>();
+        Set<Comment> seen = Collections.newSetFromMap(new IdentityHashMap<>());
         while (!stack.isEmpty()) {
             Comment current = stack.pop();
-            if (commentMap.containsKey(current)) continue;
-
-            Map<String, Object> commentData = new HashMap<>();
-            commentData.put("id", current.getId());
-            commentData.put("content", current.getContent());
-            commentData.put("author", emailToNameMap.getOrDefault(current.getAuthorEmail(), "Unknown"));
-            commentData.put("createdAt", current.getCreatedAt());
-            commentData.put("replies", new ArrayList<>());
-
-            commentMap.put(current, commentData);
-
-            for (Comment reply : current.getReplies()) {
-                stack.push(reply);
+            if (!seen.add(current)) continue;
+            visited.add(current);
+            if (current.getReplies() != null) {
+                for (Comment reply : current.getReplies()) {
+                    stack.push(reply);
+                }
             }
         }
 
-        for (Comment comment : commentMap.keySet()) {
-            Map<String, Object> commentData = commentMap.get(comment);
-            List<Map<String, Object>> replyData = new ArrayList<>();
-            for (Comment reply : comment.getReplies()) {
-                replyData.add(commentMap.get(reply));
+        // Every reply is visited after its parent, so building in reverse finishes replies first.
+        Map<Comment, CommentNode> nodes = new IdentityHashMap<>();
+        for (int i = visited.size() - 1; i >= 0; i--) {
+            Comment comment = visited.get(i);
+            List<CommentNode> replies = new ArrayList<>();
+            if (comment.getReplies() != null) {
+                for (Comment reply : comment.getReplies()) {
+                    CommentNode node = nodes.get(reply);
+                    if (node != null) {
+                        replies.add(node);
+                    }
+                }
             }
-            commentData.put("replies", replyData);
+            nodes.put(comment, new CommentNode(
+                    comment.getId(),
+                    comment.getContent(),
+                    emailToNameMap.getOrDefault(comment.getAuthorEmail(), "Unknown"),
+                    comment.getCreatedAt(),
+                    replies,
+                    reactionCounts.getOrDefault(comment.getId(), 0L)
+            ));
         }
 
+        List<CommentNode> transformed = new ArrayList<>(comments.size());
         for (Comment topLevel : comments) {
-            transformed.add(commentMap.get(topLevel));
+            transformed.add(nodes.get(topLevel));
         }
-
         return transformed;
     }
 
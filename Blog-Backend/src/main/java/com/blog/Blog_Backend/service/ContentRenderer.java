@@ -0,0 +1,174 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.RenderedContent;
+import com.blog.Blog_Backend.utility.Markdown;
+import com.blog.Blog_Backend.utility.SyntaxHighlighter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Renders a post's Markdown content and code snippet to HTML when it is
+ * written, along with the excerpt, word count and reading time the feed and
+ * post page show, so readers are served stored HTML instead of every browser
+ * parsing and highlighting the raw source.
+ * <p>
+ * Output is stamped with {@link #VERSION}; bump it whenever the rendered
+ * HTML changes, and posts stamped with an older version are re-rendered in
+ * batches after startup.
+ */
+@Service
+public class ContentRenderer {
+
+    public static final int VERSION = 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentRenderer.class);
+    private static final Pattern CODE_BLOCK = Pattern.compile("<pre>.*?</pre>", Pattern.DOTALL);
+    private static final Pattern TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MongoTemplate mongoTemplate;
+    private final int excerptLength;
+    private final int wordsPerMinute;
+    private final int batchSize;
+
+    public ContentRenderer(MongoTemplate mongoTemplate,
+                           @Value("${app.render.excerpt-length:240}") int excerptLength,
+                           @Value("${app.render.words-per-minute:220}") int wordsPerMinute,
+                           @Value("${app.render.backfill-batch-size:200}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.excerptLength = excerptLength;
+        this.wordsPerMinute = wordsPerMinute;
+        this.batchSize = batchSize;
+    }
+
+    public RenderedContent render(BlogPost post) {
+        RenderedContent rendered = new RenderedContent();
+        rendered.setVersion(VERSION);
+        // Markdown bounds its own nesting, so no input can run it out of stack.
+        String html = Markdown.toHtml(post.getContent());
+        rendered.setHtml(html);
+        if (post.getCodeSnippet() != null && !post.getCodeSnippet().isBlank()) {
+            rendered.setCodeHtml(SyntaxHighlighter.highlight(post.getCodeSnippet().strip(), post.getCodeLanguage()));
+        }
+
+        String text = plainText(html);
+        rendered.setExcerpt(excerpt(text));
+        int words = text.isEmpty() ? 0 : WHITESPACE.split(text).length;
+        rendered.setWordCount(words);
+        rendered.setReadingMinutes(Math.max(1, Math.round((float) words / wordsPerMinute)));
+        return rendered;
+    }
+
+    /**
+     * The stored rendering of a fully loaded post. A post the backfill has not
+     * reached yet is rendered now and stored, so it is only rendered once.
+     */
+    public RenderedContent current(BlogPost post) {
+        RenderedContent rendered = post.getRendered();
+        if (rendered != null && rendered.getVersion() >= VERSION) {
+            return rendered;
+        }
+        rendered = render(post);
+        store(post, rendered);
+        post.setRendered(rendered);
+        return rendered;
+    }
+
+    /**
+     * Re-renders posts with no rendered content or an older {@link #VERSION}.
+     * A post that is updated meanwhile is left alone, since the update has
+     * already rendered it with the current version.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long started = System.currentTimeMillis();
+        int total = 0;
+        String lastId = null;
+        try {
+            while (true) {
+                Criteria stale = new Criteria().orOperator(
+                        Criteria.where("rendered.version").exists(false),
+                        Criteria.where("rendered.version").lt(VERSION));
+                Query query = Query.query(lastId == null ? stale
+                                : new Criteria().andOperator(stale, Criteria.where("_id").gt(lastId)))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize);
+                query.fields().include("content", "codeSnippet", "codeLanguage", "updatedAt");
+                List<BlogPost> posts = mongoTemplate.find(query, BlogPost.class);
+                if (posts.isEmpty()) {
+                    break;
+                }
+
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BlogPost.class);
+                for (BlogPost post : posts) {
+                    bulk.updateOne(unchanged(post), new Update().set("rendered", render(post)));
+                }
+                bulk.execute();
+                total += posts.size();
+                lastId = posts.get(posts.size() - 1).getId();
+            }
+            if (total > 0) {
+                logger.info("Re-rendered {} posts to version {} in {} ms", total, VERSION,
+                        System.currentTimeMillis() - started);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Post re-render stopped after {} posts", total, e);
+        }
+    }
+
+    private void store(BlogPost post, RenderedContent rendered) {
+        try {
+            mongoTemplate.updateFirst(unchanged(post), new Update().set("rendered", rendered), BlogPost.class);
+        } catch (RuntimeException e) {
+            logger.warn("Could not store re-rendered post {}", post.getId(), e);
+        }
+    }
+
+    /**
+     * Matches {@code post} only while it has not been updated since it was read.
+     */
+    private static Query unchanged(BlogPost post) {
+        return Query.query(Criteria.where("_id").is(post.getId()).and("updatedAt").is(post.getUpdatedAt()));
+    }
+
+    private String excerpt(String text) {
+        if (text.length() <= excerptLength) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', excerptLength);
+        if (cut < excerptLength / 2) {
+            cut = excerptLength;
+        }
+        return text.substring(0, cut).stripTrailing() + "…";
+    }
+
+    /**
+     * Visible prose of rendered HTML: code blocks dropped, tags stripped,
+     * entities decoded and whitespace collapsed.
+     */
+    private static String plainText(String html) {
+        String text = TAG.matcher(CODE_BLOCK.matcher(html).replaceAll(" ")).replaceAll(" ");
+        text = text.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+        return WHITESPACE.matcher(text).replaceAll(" ").strip();
+    }
+}
@@ -0,0 +1,208 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.DeliveryPreference;
+import com.blog.Blog_Backend.entity.DeliveryPreference.Frequency;
+import com.blog.Blog_Backend.entity.Notification;
+import com.blog.Blog_Backend.repository.DeliveryPreferenceRepository;
+import com.blog.Blog_Backend.service.BlogMailTemplates.DigestEntry;
+import com.blog.Blog_Backend.service.BlogMailTemplates.RenderedMail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Delivery preferences and the hourly/daily digests. Notifications for digest
+ * subscribers are stored with {@code digestPending} set instead of being
+ * emailed; the scheduled runs collapse each subscriber's pending notifications
+ * into one message, listing every post once however often it was edited.
+ */
+@Service
+public class DigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DigestService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final DeliveryPreferenceRepository preferenceRepository;
+    private final MailDeliveryService mailDeliveryService;
+    private final BlogMailTemplates blogMailTemplates;
+    private final Duration coalesceWindow;
+    private final int pageSize;
+
+    public DigestService(MongoTemplate mongoTemplate,
+                         DeliveryPreferenceRepository preferenceRepository,
+                         MailDeliveryService mailDeliveryService,
+                         BlogMailTemplates blogMailTemplates,
+                         @Value("${app.notifications.coalesce-window:1h}") Duration coalesceWindow,
+                         @Value("${app.notifications.digest.page-size:500}") int pageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.preferenceRepository = preferenceRepository;
+        this.mailDeliveryService = mailDeliveryService;
+        this.blogMailTemplates = blogMailTemplates;
+        this.coalesceWindow = coalesceWindow;
+        this.pageSize = pageSize;
+    }
+
+    public Frequency getFrequency(String email) {
+        return preferenceRepository.findByEmail(email)
+                .map(DeliveryPreference::getFrequency)
+                .orElse(Frequency.INSTANT);
+    }
+
+    public DeliveryPreference setFrequency(String email, Frequency frequency) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        Update update = new Update().set("frequency", frequency).setOnInsert("email", email);
+        DeliveryPreference preference = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), DeliveryPreference.class);
+        if (frequency == Frequency.INSTANT) {
+            // Anything still waiting for a digest would otherwise never be emailed.
+            flush(email);
+        }
+        return preference;
+    }
+
+    /**
+     * Frequencies for a batch of recipients; anyone without a stored preference is instant.
+     */
+    public Map<String, Frequency> frequencies(Collection<String> emails) {
+        Map<String, Frequency> frequencies = new HashMap<>(emails.size() * 2);
+        for (DeliveryPreference preference : preferenceRepository.findByEmailIn(emails)) {
+            frequencies.put(preference.getEmail(), preference.getFrequency());
+        }
+        return frequencies;
+    }
+
+    /**
+     * Recipients who already have a notification for {@code blogId} inside the
+     * coalescing window. Their existing notification is refreshed in place and
+     * no second instant email goes out.
+     */
+    public Set<String> coalesce(String blogId, String blogTitle, Collection<String> emails, Set<String> digestRecipients) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minus(coalesceWindow);
+        Query recent = Query.query(Criteria.where("blogId").is(blogId)
+                .and("createdAt").gte(since)
+                .and("userEmail").in(emails));
+        recent.fields().include("userEmail");
+        Set<String> coalesced = new HashSet<>();
+        for (Notification notification : mongoTemplate.find(recent, Notification.class)) {
+            coalesced.add(notification.getUserEmail());
+        }
+        if (coalesced.isEmpty()) {
+            return coalesced;
+        }
+
+        Map<Boolean, List<String>> byDigest = new HashMap<>();
+        for (String email : coalesced) {
+            byDigest.computeIfAbsent(digestRecipients.contains(email), k -> new ArrayList<>()).add(email);
+        }
+        byDigest.forEach((digest, recipients) -> {
+            Query query = Query.query(Criteria.where("blogId").is(blogId)
+                    .and("createdAt").gte(since)
+                    .and("userEmail").in(recipients));
+            Update refresh = new Update()
+                    .set("blogTitle", blogTitle)
+                    .set("refreshedAt", now)
+                    .set("isRead", false);
+            if (digest) {
+                refresh.set("digestPending", true);
+            }
+            mongoTemplate.updateMulti(query, refresh, Notification.class);
+        });
+        return coalesced;
+    }
+
+    @Scheduled(cron = "${app.notifications.digest.hourly-cron:0 0 * * * *}")
+    public void sendHourlyDigests() {
+        sendDigests(Frequency.HOURLY, Duration.ofHours(1));
+    }
+
+    @Scheduled(cron = "${app.notifications.digest.daily-cron:0 0 8 * * *}")
+    public void sendDailyDigests() {
+        sendDigests(Frequency.DAILY, Duration.ofDays(1));
+    }
+
+    private void sendDigests(Frequency frequency, Duration period) {
+        int sent = 0;
+        Page<DeliveryPreference> page;
+        int pageNumber = 0;
+        do {
+            page = preferenceRepository.findByFrequency(frequency,
+                    PageRequest.of(pageNumber++, pageSize, Sort.by("id")));
+            for (DeliveryPreference preference : page) {
+                if (claim(preference.getEmail(), frequency, period) && flush(preference.getEmail())) {
+                    sent++;
+                }
+            }
+        } while (page.hasNext());
+        logger.info("📬 Sent {} {} digests", sent, frequency.name().toLowerCase());
+    }
+
+    /**
+     * Marks this run as the subscriber's latest digest. Only one instance wins
+     * the conditional update, so several nodes running the same schedule do
+     * not send duplicates.
+     */
+    private boolean claim(String email, Frequency frequency, Duration period) {
+        Date now = new Date();
+        Date threshold = new Date(now.getTime() - period.toMillis() / 2);
+        Query query = Query.query(Criteria.where("email").is(email)
+                .and("frequency").is(frequency)
+                .orOperator(Criteria.where("lastDigestAt").is(null), Criteria.where("lastDigestAt").lt(threshold)));
+        return mongoTemplate.updateFirst(query, new Update().set("lastDigestAt", now), DeliveryPreference.class)
+                .getModifiedCount() == 1;
+    }
+
+    /**
+     * Emails everything pending for {@code email} as one digest.
+     *
+     * @return whether a digest was sent
+     */
+    private boolean flush(String email) {
+        Query pending = Query.query(Criteria.where("userEmail").is(email).and("digestPending").is(true))
+                .with(Sort.by("createdAt"));
+        List<Notification> notifications = mongoTemplate.find(pending, Notification.class);
+        if (notifications.isEmpty()) {
+            return false;
+        }
+
+        Map<String, DigestEntry> entries = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            boolean isNew = BlogMailTemplates.Kind.NEW.name().equals(notification.getKind());
+            entries.merge(notification.getBlogId(),
+                    new DigestEntry(notification.getBlogId(), notification.getBlogTitle(), isNew, isNew ? 0 : 1,
+                            notification.getAuthorEmail(), audienceOf(notification)),
+                    (previous, next) -> new DigestEntry(previous.blogId(), next.title(),
+                            previous.isNew() || next.isNew(), previous.updates() + next.updates(),
+                            previous.authorEmail(), previous.audience()));
+        }
+
+        RenderedMail mail = blogMailTemplates.renderDigest(email, new ArrayList<>(entries.values()));
+        mailDeliveryService.submit(email, mail.subject(), mail.text(), mail.html());
+
+        List<String> ids = notifications.stream().map(Notification::getId).toList();
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                new Update().set("digestPending", false), Notification.class);
+        return true;
+    }
+
+    private static BlogMailTemplates.Audience audienceOf(Notification notification) {
+        // Notifications written before the audience was recorded came from the general list.
+        return BlogMailTemplates.Audience.AUTHOR_SUBSCRIBER.name().equals(notification.getAudience())
+                ? BlogMailTemplates.Audience.AUTHOR_SUBSCRIBER
+                : BlogMailTemplates.Audience.GENERAL;
+    }
+}
@@ -0,0 +1,305 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.dto.DraftPatch;
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.Draft;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Drafts the editor autosaves into. Autosaves send small patches (see
+ * {@link DraftPatch}) instead of the whole post. A patch is applied only if
+ * the draft is still at the version the client last saw, otherwise 409.
+ * Drafts never touch the published post, the feed caches or subscribers
+ * until {@link #publish}, which saves the post and sends one notification.
+ */
+@Service
+public class DraftService {
+
+    private static final Set<String> TEXT_FIELDS = Set.of("title", "content", "codeSnippet");
+    private static final Set<String> FIELDS = Set.of("title", "content", "codeSnippet", "codeLanguage", "tags");
+
+    private final MongoTemplate mongoTemplate;
+    private final BlogPostService blogPostService;
+    private final EmailService emailService;
+    private final int maxOps;
+    private final int maxTextLength;
+    private final int maxPerAuthor;
+
+    public DraftService(MongoTemplate mongoTemplate,
+                        BlogPostService blogPostService,
+                        EmailService emailService,
+                        @Value("${app.drafts.max-ops-per-patch:200}") int maxOps,
+                        @Value("${app.drafts.max-text-length:200000}") int maxTextLength,
+                        @Value("${app.drafts.max-per-author:50}") int maxPerAuthor) {
+        this.mongoTemplate = mongoTemplate;
+        this.blogPostService = blogPostService;
+        this.emailService = emailService;
+        this.maxOps = maxOps;
+        this.maxTextLength = maxTextLength;
+        this.maxPerAuthor = maxPerAuthor;
+    }
+
+    /**
+     * Starts a draft for a new post, or for {@code blogId} seeded from the
+     * published post. A post has at most one draft, which is returned if it
+     * already exists.
+     */
+    public Draft create(String email, String blogId) {
+        if (blogId != null) {
+            Draft existing = findForBlog(blogId);
+            if (existing != null) {
+                requireAuthor(existing, email);
+                return existing;
+            }
+        }
+        if (mongoTemplate.count(Query.query(Criteria.where("authorEmail").is(email)), Draft.class) >= maxPerAuthor) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many drafts; publish or delete some first");
+        }
+
+        Draft draft = new Draft();
+        draft.setAuthorEmail(email);
+        if (blogId != null) {
+            BlogPost blog = blogPostService.getBlogById(blogId);
+            if (!email.equals(blog.getAuthorEmail())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to edit this blog");
+            }
+            draft.setBlogId(blogId);
+            draft.setTitle(blog.getTitle());
+            draft.setContent(blog.getContent());
+            draft.setCodeLanguage(blog.getCodeLanguage());
+            draft.setCodeSnippet(blog.getCodeSnippet());
+            draft.setTags(blog.getTags());
+        }
+        Date now = new Date();
+        draft.setCreatedAt(now);
+        draft.setUpdatedAt(now);
+        try {
+            return mongoTemplate.insert(draft);
+        } catch (DuplicateKeyException e) {
+            // Another tab opened the same post at the same time.
+            return findForBlog(blogId);
+        }
+    }
+
+    /**
+     * The author's drafts, most recently edited first, without their bodies.
+     */
+    public List<Draft> list(String email) {
+        Query query = Query.query(Criteria.where("authorEmail").is(email))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"));
+        query.fields().exclude("content", "codeSnippet", "image");
+        return mongoTemplate.find(query, Draft.class);
+    }
+
+    public Draft get(String email, String draftId) {
+        Draft draft = mongoTemplate.findById(draftId, Draft.class);
+        if (draft == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Draft not found");
+        }
+        requireAuthor(draft, email);
+        return draft;
+    }
+
+    /**
+     * Applies {@code patch} and writes only the fields it changed.
+     *
+     * @return the draft's new version
+     */
+    public long applyPatch(String email, String draftId, DraftPatch patch) {
+        if (patch.ops() == null || patch.ops().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patch has no operations");
+        }
+        if (patch.ops().size() > maxOps) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patch has more than " + maxOps + " operations");
+        }
+        Query query = Query.query(Criteria.where("_id").is(draftId));
+        query.fields().exclude("image");
+        Draft draft = mongoTemplate.findOne(query, Draft.class);
+        if (draft == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Draft not found");
+        }
+        requireAuthor(draft, email);
+        if (draft.getVersion() != patch.baseVersion()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Draft has changed; reload it");
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", draft.getTitle());
+        values.put("content", draft.getContent());
+        values.put("codeSnippet", draft.getCodeSnippet());
+        values.put("codeLanguage", draft.getCodeLanguage());
+        values.put("tags", draft.getTags());
+        Set<String> changed = new LinkedHashSet<>();
+        for (DraftPatch.Op op : patch.ops()) {
+            changed.add(apply(op, values));
+        }
+
+        Update update = new Update().inc("version", 1).set("updatedAt", new Date());
+        changed.forEach(field -> update.set(field, values.get(field)));
+        return bump(draftId, patch.baseVersion(), update);
+    }
+
+    /**
+     * Replaces the draft's image, kept apart from patches so autosaves never
+     * carry it.
+     *
+     * @return the draft's new version
+     */
+    public long setImage(String email, String draftId, long baseVersion, byte[] image) {
+        get(email, draftId);
+        return bump(draftId, baseVersion, new Update().inc("version", 1).set("updatedAt", new Date()).set("image", image));
+    }
+
+    /**
+     * Saves the draft as a new post or over the post it belongs to, notifies
+     * subscribers once and deletes the draft. {@code version} must match, so
+     * what gets published is what the author last saw. The draft is claimed
+     * by removing it first, so a double submit or a retry publishes it at most
+     * once; if saving the post then fails, the draft is put back.
+     * {@code createBlog} and {@code updateBlog} only throw when the post was
+     * not saved, so a put-back draft never duplicates a published post.
+     */
+    public BlogPost publish(String email, String draftId, long version) {
+        Draft current = get(email, draftId);
+        if (current.getVersion() != version) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Draft has changed; reload it");
+        }
+        if (current.getTitle() == null || current.getTitle().isBlank()
+                || current.getContent() == null || current.getContent().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A title and content are required to publish");
+        }
+
+        Draft draft = mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("_id").is(draftId).and("authorEmail").is(email).and("version").is(version)),
+                Draft.class);
+        if (draft == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Draft has changed or was already published");
+        }
+
+        BlogPost post = new BlogPost();
+        post.setTitle(draft.getTitle());
+        post.setContent(draft.getContent());
+        post.setCodeLanguage(draft.getCodeLanguage());
+        post.setCodeSnippet(draft.getCodeSnippet());
+        post.setTags(draft.getTags());
+        post.setImage(draft.getImage());
+
+        BlogPost saved;
+        try {
+            if (draft.getBlogId() == null) {
+                saved = blogPostService.createBlog(email, post);
+            } else {
+                post.setId(draft.getBlogId());
+                saved = blogPostService.updateBlog(email, post);
+            }
+        } catch (RuntimeException e) {
+            // A new post gets its id only once the insert went through; then the draft is gone for good.
+            if (draft.getBlogId() != null || post.getId() == null) {
+                mongoTemplate.insert(draft);
+            }
+            throw e;
+        }
+        if (draft.getBlogId() == null) {
+            emailService.sendNewBlogNotification(saved.getTitle(), saved.getId(), email);
+        } else {
+            emailService.sendUpdatedBlogNotification(saved.getTitle(), saved.getId(), email);
+        }
+        return saved;
+    }
+
+    public void delete(String email, String draftId) {
+        get(email, draftId);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(draftId)), Draft.class);
+    }
+
+    /**
+     * @return the field the operation changed
+     */
+    String apply(DraftPatch.Op op, Map<String, Object> values) {
+        String field = op.path() != null && op.path().startsWith("/") ? op.path().substring(1) : null;
+        if (field == null || !FIELDS.contains(field)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown path: " + op.path());
+        }
+        switch (op.op() == null ? "" : op.op()) {
+            case "replace" -> values.put(field, "tags".equals(field) ? tags(op.value()) : text(op.value()));
+            case "splice" -> {
+                if (!TEXT_FIELDS.contains(field)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot splice " + op.path());
+                }
+                String current = Objects.toString(values.get(field), "");
+                int offset = op.offset() == null ? -1 : op.offset();
+                int delete = op.delete() == null ? 0 : op.delete();
+                if (offset < 0 || delete < 0 || offset > current.length() || delete > current.length() - offset) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Splice out of range for " + op.path());
+                }
+                values.put(field, current.substring(0, offset)
+                        + Objects.toString(op.insert(), "")
+                        + current.substring(offset + delete));
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported op: " + op.op());
+        }
+        Object value = values.get(field);
+        if (value instanceof String text && text.length() > maxTextLength) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    op.path() + " is longer than " + maxTextLength + " characters");
+        }
+        return field;
+    }
+
+    private static String text(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a string value");
+        }
+        return value.asText();
+    }
+
+    private static List<String> tags(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return new ArrayList<>();
+        }
+        List<String> tags = new ArrayList<>();
+        if (value.isTextual()) {
+            tags.addAll(Arrays.asList(value.asText().split(",")));
+        } else if (value.isArray()) {
+            value.forEach(tag -> tags.add(tag.asText()));
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected tags as an array or a string");
+        }
+        return BlogPostService.normalizeTags(tags);
+    }
+
+    private long bump(String draftId, long baseVersion, Update update) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(draftId).and("version").is(baseVersion)), update, Draft.class);
+        if (result.getMatchedCount() == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Draft has changed; reload it");
+        }
+        return baseVersion + 1;
+    }
+
+    private Draft findForBlog(String blogId) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("blogId").is(blogId)), Draft.class);
+    }
+
+    private static void requireAuthor(Draft draft, String email) {
+        if (!draft.getAuthorEmail().equals(email)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not authorized to edit this draft");
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.GeneralSubscriber;
+import com.blog.Blog_Backend.entity.User;
+import com.blog.Blog_Backend.utility.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters over the emails in {@code users} and
+ * {@code general_subscribers}. A negative answer means the email is certainly
+ * not stored, so signup and subscribe can skip their existence query; a
+ * positive answer still goes to Mongo, and the unique indexes remain the final
+ * arbiter. Until the first build finishes every answer is "maybe".
+ */
+@Service
+public class EmailMembershipFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailMembershipFilter.class);
+
+    public enum EmailSet {
+        USERS(User.class),
+        GENERAL_SUBSCRIBERS(GeneralSubscriber.class);
+
+        private final Class<?> entity;
+
+        EmailSet(Class<?> entity) {
+            this.entity = entity;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskExecutor taskExecutor;
+    private final double fpp;
+    private final long minCapacity;
+    private final Duration rebuildInterval;
+    private final Map<EmailSet, Slot> slots = new EnumMap<>(EmailSet.class);
+
+    public EmailMembershipFilter(MongoTemplate mongoTemplate,
+                                 MeterRegistry registry,
+                                 @Qualifier("taskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${app.membership-filter.fpp:0.01}") double fpp,
+                                 @Value("${app.membership-filter.min-capacity:100000}") long minCapacity,
+                                 @Value("${app.membership-filter.rebuild-interval:6h}") Duration rebuildInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskExecutor = taskExecutor;
+        this.fpp = fpp;
+        this.minCapacity = minCapacity;
+        this.rebuildInterval = rebuildInterval;
+        for (EmailSet set : EmailSet.values()) {
+            Slot slot = new Slot();
+            slots.put(set, slot);
+            String tag = set.name().toLowerCase();
+            slot.negatives = Counter.builder("membership.filter.checks").tag("set", tag).tag("result", "absent").register(registry);
+            slot.positives = Counter.builder("membership.filter.checks").tag("set", tag).tag("result", "maybe").register(registry);
+            Gauge.builder("membership.filter.fpp", slot, s -> s.current == null ? Double.NaN : s.current.expectedFpp())
+                    .tag("set", tag).register(registry);
+            Gauge.builder("membership.filter.bytes", slot, s -> s.current == null ? 0 : s.current.memoryBytes())
+                    .tag("set", tag).register(registry);
+            Gauge.builder("membership.filter.entries", slot, s -> s.current == null ? 0 : s.current.approximateSize())
+                    .tag("set", tag).register(registry);
+        }
+    }
+
+    /**
+     * @return false only if {@code email} is definitely not in the collection
+     */
+    public boolean mightContain(EmailSet set, String email) {
+        Slot slot = slots.get(set);
+        BloomFilter filter = slot.current;
+        if (filter == null || filter.mightContain(email)) {
+            slot.positives.increment();
+            return true;
+        }
+        slot.negatives.increment();
+        return false;
+    }
+
+    /**
+     * Records a newly stored email. Must be called after every insert, or
+     * later checks could wrongly skip the database.
+     */
+    public void add(EmailSet set, String email) {
+        Slot slot = slots.get(set);
+        synchronized (slot) {
+            if (slot.current != null) {
+                slot.current.put(email);
+            }
+            if (slot.building != null) {
+                slot.building.put(email);
+            }
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        for (EmailSet set : EmailSet.values()) {
+            rebuild(set);
+        }
+    }
+
+    /**
+     * Rebuilds a filter when it is due, to forget deleted emails, or early
+     * once inserts have pushed its false-positive rate past twice the target.
+     * The scan runs on {@code taskExecutor}, like the startup build, so it
+     * never holds a scheduler thread.
+     */
+    @Scheduled(fixedDelayString = "${app.membership-filter.check-interval:5m}",
+            initialDelayString = "${app.membership-filter.check-interval:5m}")
+    public void rebuildIfNeeded() {
+        long now = System.currentTimeMillis();
+        for (EmailSet set : EmailSet.values()) {
+            Slot slot = slots.get(set);
+            BloomFilter filter = slot.current;
+            if (filter == null
+                    || now - slot.builtAt >= rebuildInterval.toMillis()
+                    || filter.expectedFpp() > 2 * fpp) {
+                synchronized (slot) {
+                    if (slot.queued) {
+                        continue;
+                    }
+                    slot.queued = true;
+                }
+                try {
+                    taskExecutor.execute(() -> {
+                        try {
+                            rebuild(set);
+                        } finally {
+                            slot.queued = false;
+                        }
+                    });
+                } catch (TaskRejectedException e) {
+                    slot.queued = false;
+                    logger.warn("Could not queue {} email filter rebuild: {}", set.name().toLowerCase(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void rebuild(EmailSet set) {
+        Slot slot = slots.get(set);
+        long started = System.currentTimeMillis();
+        long count = mongoTemplate.estimatedCount(set.entity);
+        BloomFilter next = BloomFilter.create(Math.max(minCapacity, count * 2), fpp);
+        synchronized (slot) {
+            // Inserts that land while we stream go into both filters.
+            slot.building = next;
+        }
+        try {
+            Query query = new Query();
+            query.fields().include("email").exclude("_id");
+            long streamed = 0;
+            try (Stream<Document> emails =
+                         mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(set.entity))) {
+                Iterator<Document> documents = emails.iterator();
+                while (documents.hasNext()) {
+                    Object email = documents.next().get("email");
+                    if (email != null) {
+                        next.put(email.toString());
+                        streamed++;
+                    }
+                }
+            }
+            synchronized (slot) {
+                slot.current = next;
+                slot.builtAt = started;
+            }
+            logger.info("Built {} email filter: {} entries, {} KiB, fpp {}", set.name().toLowerCase(),
+                    streamed, next.memoryBytes() / 1024, String.format("%.4f", next.expectedFpp()));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to build {} email filter; existence checks fall through to Mongo: {}",
+                    set.name().toLowerCase(), e.getMessage());
+        } finally {
+            synchronized (slot) {
+                slot.building = null;
+            }
+        }
+    }
+
+    private static final class Slot {
+        volatile BloomFilter current;
+        volatile BloomFilter building;
+        volatile long builtAt;
+        volatile boolean queued;
+        Counter negatives;
+        Counter positives;
+    }
+}
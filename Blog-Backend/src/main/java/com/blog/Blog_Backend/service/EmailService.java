@@ -1,30 +1,29 @@
 package com.blog.Blog_Backend.service;
 
+import com.blog.Blog_Backend.entity.DeliveryPreference;
 import com.blog.Blog_Backend.entity.GeneralSubscriber;
 import com.blog.Blog_Backend.entity.Notification;
-import com.blog.Blog_Backend.entity.Subscriber;
-import com.blog.Blog_Backend.repository.GeneralSubscriberRepository;
 import com.blog.Blog_Backend.repository.NotificationRepository;
-import com.blog.Blog_Backend.repository.SubscriberRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.ErrorManager;
 
 @Service
@@ -36,16 +35,25 @@ public class EmailService {
     private JavaMailSender mailSender;
 
     @Autowired
-    private SubscriberRepository subscriberRepository;
+    private SubscriptionService subscriptionService;
 
     @Autowired
-    private GeneralSubscriberRepository generalSubscriberRepository;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
     private NotificationRepository notificationRepository;
 
-    @Value("${app.frontend.base-url}")
-    private String frontendBaseUrl;
+    @Autowired
+    private MailDeliveryService mailDeliveryService;
+
+    @Autowired
+    private BlogMailTemplates blogMailTemplates;
+
+    @Autowired
+    private DigestService digestService;
+
+    @Value("${app.notifications.fanout-page-size:500}")
+    private int fanoutPageSize;
 
     @Autowired
     public EmailService(JavaMailSender mailSender) {
@@ -69,84 +77,104 @@ public class EmailService {
     @Async
     public void sendNewBlogNotification(String blogTitle, String blogId, String authorEmail) {
         logger.info("⏳ Sending notifications for new blog: {}", blogTitle);
-        List<Notification> notifications = new ArrayList<>();
-
-        List<Subscriber> authorSubscribers = subscriberRepository.findBySubscribedAuthorsContaining(authorEmail);
-        for (Subscriber subscriber : authorSubscribers) {
-            notifications.add(createNotification(blogTitle, blogId, authorEmail, subscriber.getEmail()));
-        }
-
-        List<GeneralSubscriber> generalSubscribers = generalSubscriberRepository.findAll();
-        for (GeneralSubscriber subscriber : generalSubscribers) {
-            notifications.add(createNotification(blogTitle, blogId, authorEmail, subscriber.getEmail()));
-        }
-
-        notificationRepository.saveAll(notifications);
-
-        for (Subscriber subscriber : authorSubscribers) {
-            sendEmailAsync(
-                    subscriber.getEmail(),
-                    "New Blog Posted by Your Subscribed Author",
-                    createNewBlogEmailContent(blogTitle, blogId, subscriber.getEmail(), authorEmail, true)
-            );
-        }
-
-        for (GeneralSubscriber subscriber : generalSubscribers) {
-            sendEmailAsync(
-                    subscriber.getEmail(),
-                    "New Blog Posted on AIDEN",
-                    createNewBlogEmailContent(blogTitle, blogId, subscriber.getEmail(), null, false)
-            );
-        }
-
-        logger.info("📬 Sent to {} subscribers", authorSubscribers.size() + generalSubscribers.size());
+        int sent = notifySubscribers(BlogMailTemplates.Kind.NEW, blogTitle, blogId, authorEmail);
+        logger.info("📬 Emailed {} subscribers", sent);
     }
 
     @Async
     public void sendUpdatedBlogNotification(String blogTitle, String blogId, String authorEmail) {
-        List<Notification> notifications = new ArrayList<>();
+        notifySubscribers(BlogMailTemplates.Kind.UPDATED, blogTitle, blogId, authorEmail);
+    }
 
-        List<Subscriber> authorSubscribers = subscriberRepository.findBySubscribedAuthorsContaining(authorEmail);
-        for (Subscriber subscriber : authorSubscribers) {
-            notifications.add(createNotification(blogTitle, blogId, authorEmail, subscriber.getEmail()));
-        }
+    /**
+     * Records an in-app notification for every subscriber and emails those on
+     * instant delivery. Digest subscribers are left for {@link DigestService};
+     * repeat events for a post inside the coalescing window only refresh the
+     * earlier notification. Recipients are processed in pages, so fan-out
+     * memory does not grow with the audience.
+     */
+    private int notifySubscribers(BlogMailTemplates.Kind kind, String blogTitle, String blogId, String authorEmail) {
+        BlogMailTemplates.Event event = blogMailTemplates.prepare(kind, blogTitle, blogId, authorEmail);
+        int sent = 0;
+
+        String after = null;
+        List<String> page;
+        do {
+            page = generalSubscriberPage(after, fanoutPageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+            // Followers of this author hear about it below, with the author-specific wording, once.
+            Set<String> followers = subscriptionService.followersAmong(authorEmail, page);
+            List<String> generalOnly = page.stream().filter(email -> !followers.contains(email)).toList();
+            sent += notifyPage(kind, blogTitle, blogId, authorEmail, generalOnly, BlogMailTemplates.Audience.GENERAL, event);
+        } while (page.size() == fanoutPageSize);
+
+        after = null;
+        do {
+            page = subscriptionService.followerPage(authorEmail, after, fanoutPageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            after = page.get(page.size() - 1);
+            sent += notifyPage(kind, blogTitle, blogId, authorEmail, page, BlogMailTemplates.Audience.AUTHOR_SUBSCRIBER, event);
+        } while (page.size() == fanoutPageSize);
+
+        return sent;
+    }
 
-        List<GeneralSubscriber> generalSubscribers = generalSubscriberRepository.findAll();
-        for (GeneralSubscriber subscriber : generalSubscribers) {
-            notifications.add(createNotification(blogTitle, blogId, authorEmail, subscriber.getEmail()));
+    private int notifyPage(BlogMailTemplates.Kind kind, String blogTitle, String blogId, String authorEmail,
+                           List<String> recipients, BlogMailTemplates.Audience audience, BlogMailTemplates.Event event) {
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        Map<String, DeliveryPreference.Frequency> frequencies = digestService.frequencies(recipients);
+        Set<String> digestRecipients = new HashSet<>(frequencies.keySet());
+        digestRecipients.removeIf(email -> frequencies.get(email) == DeliveryPreference.Frequency.INSTANT);
+        Set<String> coalesced = kind == BlogMailTemplates.Kind.UPDATED
+                ? digestService.coalesce(blogId, blogTitle, recipients, digestRecipients)
+                : Set.of();
+
+        List<Notification> notifications = new ArrayList<>(recipients.size());
+        for (String email : recipients) {
+            if (!coalesced.contains(email)) {
+                Notification notification = createNotification(blogTitle, blogId, authorEmail, email);
+                notification.setKind(kind.name());
+                notification.setAudience(audience.name());
+                notification.setDigestPending(digestRecipients.contains(email));
+                notifications.add(notification);
+            }
         }
-
         notificationRepository.saveAll(notifications);
 
-        for (Subscriber subscriber : authorSubscribers) {
-            sendEmailAsync(
-                    subscriber.getEmail(),
-                    "Blog Updated by Your Subscribed Author",
-                    createUpdatedBlogEmailContent(blogTitle, blogId, subscriber.getEmail(), authorEmail, true)
-            );
+        int sent = 0;
+        for (String email : recipients) {
+            if (!digestRecipients.contains(email) && !coalesced.contains(email)) {
+                send(email, event.render(audience, email));
+                sent++;
+            }
         }
+        return sent;
+    }
 
-        for (GeneralSubscriber subscriber : generalSubscribers) {
-            sendEmailAsync(
-                    subscriber.getEmail(),
-                    "Blog Updated on AIDEN",
-                    createUpdatedBlogEmailContent(blogTitle, blogId, subscriber.getEmail(), null, false)
-            );
+    private List<String> generalSubscriberPage(String after, int limit) {
+        Query query = after == null ? new Query() : Query.query(Criteria.where("email").gt(after));
+        query.with(Sort.by("email")).limit(limit);
+        query.fields().include("email").exclude("_id");
+        List<String> emails = new ArrayList<>(limit);
+        for (GeneralSubscriber subscriber : mongoTemplate.find(query, GeneralSubscriber.class)) {
+            emails.add(subscriber.getEmail());
         }
+        return emails;
+    }
+
+    private void send(String to, BlogMailTemplates.RenderedMail mail) {
+        mailDeliveryService.submit(to, mail.subject(), mail.text(), mail.html());
     }
 
-    @Async
     public void sendEmailAsync(String to, String subject, String htmlContent) {
-        MimeMessage message = mailSender.createMimeMessage();
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            logger.error("Failed to send email to {}", to, e);
-        }
+        mailDeliveryService.submit(to, subject, htmlContent);
     }
 
     private Notification createNotification(String blogTitle, String blogId, String authorEmail, String userEmail) {
@@ -160,73 +188,12 @@ public class EmailService {
         return notification;
     }
 
-    public void sendEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            System.err.println("Failed to send email to " + to + ": " + e.getMessage());
-        }
+    @Async("priorityMailExecutor")
+    public void sendPriorityEmail(String to, String subject, String htmlContent) {
+        sendEmail(to, subject, htmlContent);
     }
 
-    private String trimmedBaseUrl() {
-        return frontendBaseUrl.endsWith("/")
-                ? frontendBaseUrl.substring(0, frontendBaseUrl.length() - 1)
-                : frontendBaseUrl;
-    }
-
-    private String buildUnsubscribeUrl(String email, String authorEmail, boolean isAuthorSpecific) {
-        String encodedEmail = URLEncoder.encode(email, StandardCharsets.UTF_8);
-        String base = trimmedBaseUrl();
-        return isAuthorSpecific
-                ? base + "/unsubscribe/author?email=" + encodedEmail
-                        + "&authorEmail=" + URLEncoder.encode(authorEmail, StandardCharsets.UTF_8)
-                : base + "/unsubscribe/general?email=" + encodedEmail;
-    }
-
-    private String createNewBlogEmailContent(String blogTitle, String blogId, String email, String authorEmail, boolean isAuthorSpecific) {
-        String unsubscribeUrl = buildUnsubscribeUrl(email, authorEmail, isAuthorSpecific);
-        String blogUrl = trimmedBaseUrl() + "/blog/" + blogId;
-        String message = isAuthorSpecific
-                ? "A new blog titled <strong>" + blogTitle + "</strong> has been posted by your subscribed author."
-                : "A new blog titled <strong>" + blogTitle + "</strong> has been posted on AIDEN.";
-        String unsubscribeText = isAuthorSpecific
-                ? "Unsubscribe from this author"
-                : "Unsubscribe from AIDEN updates";
-
-        return "<html>" +
-                "<body style='font-family: Arial, sans-serif; color: #333;'>" +
-                "<h2>New Blog Posted on AIDEN!</h2>" +
-                "<p>" + message + "</p>" +
-                "<p>Read it now: <a href='" + blogUrl + "' style='color: #4B6CB7; text-decoration: none;'>View Blog</a></p>" +
-                "<p>Stay tuned for more updates!</p>" +
-                "<p><small><a href='" + unsubscribeUrl + "' style='color: #999;'>" + unsubscribeText + "</a></small></p>" +
-                "</body>" +
-                "</html>";
-    }
-
-    private String createUpdatedBlogEmailContent(String blogTitle, String blogId, String email, String authorEmail, boolean isAuthorSpecific) {
-        String unsubscribeUrl = buildUnsubscribeUrl(email, authorEmail, isAuthorSpecific);
-        String blogUrl = trimmedBaseUrl() + "/blog/" + blogId;
-        String message = isAuthorSpecific
-                ? "The blog titled <strong>" + blogTitle + "</strong> has been updated by your subscribed author."
-                : "The blog titled <strong>" + blogTitle + "</strong> has been updated on AIDEN.";
-        String unsubscribeText = isAuthorSpecific
-                ? "Unsubscribe from this author"
-                : "Unsubscribe from AIDEN updates";
-
-        return "<html>" +
-                "<body style='font-family: Arial, sans-serif; color: #333;'>" +
-                "<h2>Blog Updated on AIDEN!</h2>" +
-                "<p>" + message + "</p>" +
-                "<p>Check out the updates: <a href='" + blogUrl + "' style='color: #4B6CB7; text-decoration: none;'>View Blog</a></p>" +
-                "<p>Stay tuned for more updates!</p>" +
-                "<p><small><a href='" + unsubscribeUrl + "' style='color: #999;'>" + unsubscribeText + "</a></small></p>" +
-                "</body>" +
-                "</html>";
+    public void sendEmail(String to, String subject, String htmlContent) {
+        mailDeliveryService.deliver(to, subject, htmlContent);
     }
 }
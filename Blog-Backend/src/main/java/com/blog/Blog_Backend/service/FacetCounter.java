@@ -0,0 +1,251 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.FacetCount;
+import com.blog.Blog_Backend.entity.FacetCount.Kind;
+import jakarta.annotation.PreDestroy;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Posts per tag and per code language, for the facet sidebar. Post writes
+ * queue timestamped changes in memory; a flush {@code $inc}s them into
+ * {@code facet_counts} and reloads the persisted totals, which is how changes
+ * made on other nodes arrive. Reads combine the two and never query Mongo.
+ * A nightly recount with {@code $group} repairs any drift.
+ * <p>
+ * The recount stamps every row with the time it started. Changes recorded
+ * before that are already part of the recounted totals, so every node drops
+ * them instead of adding them a second time. Values are counted lower-cased,
+ * so legacy rows written before normalization share a facet with new ones.
+ */
+@Service
+public class FacetCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetCounter.class);
+
+    public record Facet(String value, long count) {
+    }
+
+    private record Change(String key, long delta, long recordedAt) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    private volatile Map<String, Long> persisted = Map.of();
+    private volatile long recountedAt;
+
+    public FacetCounter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public void added(BlogPost post) {
+        adjust(post.getTags(), post.getCodeLanguage(), 1);
+    }
+
+    public void removed(BlogPost post) {
+        adjust(post.getTags(), post.getCodeLanguage(), -1);
+    }
+
+    public void changed(Collection<String> oldTags, String oldLanguage, BlogPost post) {
+        adjust(oldTags, oldLanguage, -1);
+        adjust(post.getTags(), post.getCodeLanguage(), 1);
+    }
+
+    /**
+     * The {@code limit} largest facets of {@code kind}, by post count.
+     */
+    public List<Facet> top(Kind kind, int limit) {
+        Map<String, Long> totals = new HashMap<>(persisted);
+        long since = recountedAt;
+        for (Change change : pending) {
+            if (change.recordedAt() >= since) {
+                totals.merge(change.key(), change.delta(), Long::sum);
+            }
+        }
+        String prefix = kind.name() + ':';
+        List<Facet> facets = new ArrayList<>();
+        totals.forEach((key, count) -> {
+            if (count > 0 && key.startsWith(prefix)) {
+                facets.add(new Facet(key.substring(prefix.length()), count));
+            }
+        });
+        facets.sort(Comparator.comparingLong(Facet::count).reversed().thenComparing(Facet::value));
+        return facets.size() > limit ? List.copyOf(facets.subList(0, limit)) : facets;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            if (mongoTemplate.estimatedCount(FacetCount.class) == 0) {
+                // First start with facets: seed the counts from the posts.
+                recount();
+            } else {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not load facet counts: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.facets.flush-interval:30s}")
+    public synchronized void flush() {
+        List<Change> changes = new ArrayList<>();
+        for (Change change; (change = pending.poll()) != null; ) {
+            changes.add(change);
+        }
+        try {
+            // Learn about recounts run elsewhere before deciding what is still owed.
+            reload();
+        } catch (RuntimeException e) {
+            pending.addAll(changes);
+            logger.warn("Failed to flush facet counts: {}", e.getMessage());
+            return;
+        }
+
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        Map<String, List<Change>> byKey = new HashMap<>();
+        for (Change change : changes) {
+            if (change.recordedAt() < recountedAt) {
+                continue;
+            }
+            deltas.merge(change.key(), change.delta(), Long::sum);
+            byKey.computeIfAbsent(change.key(), k -> new ArrayList<>()).add(change);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(deltas.keySet());
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FacetCount.class);
+            for (String key : keys) {
+                int separator = key.indexOf(':');
+                bulk.upsert(Query.query(Criteria.where("_id").is(key)), new Update()
+                        .setOnInsert("kind", Kind.valueOf(key.substring(0, separator)))
+                        .setOnInsert("value", key.substring(separator + 1))
+                        .inc("count", deltas.get(key)));
+            }
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // The other increments were applied; only the failed ones stay pending.
+            for (BulkWriteError error : e.getErrors()) {
+                pending.addAll(byKey.get(keys.get(error.getIndex())));
+            }
+            logger.warn("Failed to flush {} of {} facet counts", e.getErrors().size(), keys.size());
+        } catch (RuntimeException e) {
+            // Nothing is known to have been applied; everything goes out with the next flush.
+            byKey.values().forEach(pending::addAll);
+            logger.warn("Failed to flush facet counts: {}", e.getMessage());
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reload facet counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes every count from the posts, off the request path.
+     */
+    @Scheduled(cron = "${app.facets.recount-cron:0 30 3 * * *}")
+    public synchronized void recount() {
+        flush();
+        Date started = new Date();
+        Map<String, Long> counts = new HashMap<>();
+        Aggregation byTag = Aggregation.newAggregation(
+                Aggregation.unwind("tags"),
+                Aggregation.match(Criteria.where("tags").type(JsonSchemaObject.Type.STRING)),
+                Aggregation.project().and(StringOperators.valueOf("tags").toLower()).as("value"),
+                Aggregation.group("value").count().as("count"));
+        collect(Kind.TAG, mongoTemplate.aggregate(byTag, BlogPost.class, Document.class), counts);
+        Aggregation byLanguage = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("codeLanguage").type(JsonSchemaObject.Type.STRING)),
+                Aggregation.project().and(StringOperators.valueOf(
+                        StringOperators.valueOf("codeLanguage").trim()).toLower()).as("value"),
+                Aggregation.group("value").count().as("count"));
+        collect(Kind.LANGUAGE, mongoTemplate.aggregate(byLanguage, BlogPost.class, Document.class), counts);
+
+        if (!counts.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FacetCount.class);
+            counts.forEach((key, count) -> {
+                int separator = key.indexOf(':');
+                bulk.upsert(Query.query(Criteria.where("_id").is(key)), new Update()
+                        .set("kind", Kind.valueOf(key.substring(0, separator)))
+                        .set("value", key.substring(separator + 1))
+                        .set("count", count)
+                        .set("recountedAt", started));
+            });
+            bulk.execute();
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").nin(counts.keySet())), FacetCount.class);
+        persisted = Map.copyOf(counts);
+        recountedAt = started.getTime();
+        logger.info("Recounted {} facets", counts.size());
+    }
+
+    private static void collect(Kind kind, Iterable<Document> rows, Map<String, Long> counts) {
+        for (Document row : rows) {
+            String value = row.getString("_id");
+            if (value != null && !value.isEmpty()) {
+                counts.merge(key(kind, value), ((Number) row.get("count")).longValue(), Long::sum);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void reload() {
+        Map<String, Long> loaded = new HashMap<>();
+        long latestRecount = recountedAt;
+        for (FacetCount count : mongoTemplate.findAll(FacetCount.class)) {
+            loaded.put(count.getId(), count.getCount());
+            if (count.getRecountedAt() != null) {
+                latestRecount = Math.max(latestRecount, count.getRecountedAt().getTime());
+            }
+        }
+        persisted = Map.copyOf(loaded);
+        recountedAt = latestRecount;
+    }
+
+    private void adjust(Collection<String> tags, String language, long delta) {
+        long now = System.currentTimeMillis();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    pending.add(new Change(key(Kind.TAG, tag), delta, now));
+                }
+            }
+        }
+        if (language != null && !language.isBlank()) {
+            pending.add(new Change(key(Kind.LANGUAGE, language), delta, now));
+        }
+    }
+
+    private static String key(Kind kind, String value) {
+        return kind.name() + ':' + value.trim().toLowerCase(Locale.ROOT);
+    }
+}
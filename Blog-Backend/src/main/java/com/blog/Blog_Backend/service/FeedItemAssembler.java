@@ -0,0 +1,52 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.dto.AuthorCard;
+import com.blog.Blog_Backend.dto.BlogFeedItem;
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.Reaction.TargetType;
+import com.blog.Blog_Backend.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a page of posts into feed items, resolving authors, images, view
+ * and reaction counts with one batched lookup each.
+ */
+@Service
+public class FeedItemAssembler {
+
+    @Autowired
+    private BlogPostService blogPostService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ViewCounter viewCounter;
+
+    @Autowired
+    private ReactionService reactionService;
+
+    public List<BlogFeedItem> assemble(List<BlogPost> blogs) {
+        Set<String> authorEmails = blogs.stream()
+                .map(BlogPost::getAuthorEmail)
+                .collect(Collectors.toSet());
+        Map<String, User> authors = userService.getUsersByEmails(authorEmails);
+
+        Map<String, String> encodedImages = blogPostService.getEncodedImages(blogs); // New method for cached encoding
+        List<String> blogIds = blogs.stream().map(BlogPost::getId).toList();
+        Map<String, Long> views = viewCounter.totals(blogIds);
+        Map<String, Long> reactions = reactionService.totals(TargetType.POST, blogIds);
+
+        List<BlogFeedItem> feed = new ArrayList<>(blogs.size());
+        for (BlogPost blog : blogs) {
+            AuthorCard author = AuthorCard.from(authors.get(blog.getAuthorEmail()));
+            feed.add(BlogFeedItem.of(blog, encodedImages.get(blog.getId()), author,
+                    views.getOrDefault(blog.getId(), 0L), reactions.getOrDefault(blog.getId(), 0L)));
+        }
+        return feed;
+    }
+}
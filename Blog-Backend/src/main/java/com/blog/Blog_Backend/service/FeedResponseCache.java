@@ -0,0 +1,106 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.utility.ContentEncoding;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Holds the serialized public feed together with one pre-compressed copy per
+ * configured encoding, so a cache hit only has to pick the right byte array.
+ */
+@Service
+public class FeedResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedResponseCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final List<ContentEncoding> encodings;
+    private final long minCompressBytes;
+    private final long ttlMillis;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry current;
+
+    public FeedResponseCache(ObjectMapper objectMapper,
+                             @Value("${app.compression.encodings:zstd,gzip}") List<String> encodings,
+                             @Value("${app.compression.min-response-size:2KB}") DataSize minResponseSize,
+                             @Value("${app.compression.feed-cache-ttl:30s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        List<ContentEncoding> configured = new ArrayList<>();
+        for (String token : encodings) {
+            ContentEncoding encoding = ContentEncoding.fromToken(token);
+            if (encoding != ContentEncoding.IDENTITY) {
+                configured.add(encoding);
+            }
+        }
+        this.encodings = List.copyOf(configured);
+        this.minCompressBytes = minResponseSize.toBytes();
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public Body get(String acceptEncoding, Supplier<?> loader) {
+        Entry entry = current;
+        if (entry == null || entry.isStale(generation.get(), ttlMillis)) {
+            entry = reload(loader);
+        }
+        ContentEncoding encoding = ContentEncoding.negotiate(acceptEncoding, entry.offered());
+        return new Body(encoding, entry.bodies.get(encoding));
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private synchronized Entry reload(Supplier<?> loader) {
+        long startGeneration = generation.get();
+        Entry entry = current;
+        if (entry != null && !entry.isStale(startGeneration, ttlMillis)) {
+            return entry;
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize feed", e);
+        }
+
+        Map<ContentEncoding, byte[]> bodies = new EnumMap<>(ContentEncoding.class);
+        bodies.put(ContentEncoding.IDENTITY, json);
+        List<ContentEncoding> offered = json.length >= minCompressBytes ? encodings : List.of();
+        for (ContentEncoding encoding : offered) {
+            bodies.put(encoding, encoding.compress(json));
+        }
+        logger.debug("Rebuilt feed cache: {} bytes raw, encodings {}", json.length, bodies.keySet());
+
+        entry = new Entry(startGeneration, System.currentTimeMillis(), offered, bodies);
+        current = entry;
+        return entry;
+    }
+
+    public record Body(ContentEncoding encoding, byte[] bytes) {
+    }
+
+    private record Entry(long generation,
+                         long builtAt,
+                         List<ContentEncoding> offered,
+                         Map<ContentEncoding, byte[]> bodies) {
+
+        boolean isStale(long currentGeneration, long ttlMillis) {
+            return generation != currentGeneration || System.currentTimeMillis() - builtAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.dto.PostPage;
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.utility.FeedCursor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.SelectionOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Posts by the authors a user follows, newest first. Each followed author
+ * contributes a stream of post refs in {@code (createdAt, id)} descending
+ * order, and a page is a k-way merge of those streams. The head of every
+ * author's stream comes from a cache of their most recent post refs; only
+ * paging past that falls back to a keyset query on {@code author_created_idx},
+ * one for all the authors whose cached refs the cursor has passed. Posts
+ * without a createdAt sort after all others.
+ */
+@Service
+public class FollowingFeedService {
+
+    private static final Comparator<PostRef> NEWEST_FIRST =
+            Comparator.comparingLong(PostRef::createdAt).thenComparing(PostRef::id).reversed();
+
+    public record PostRef(String id, long createdAt) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final SubscriptionService subscriptionService;
+    private final int recentPerAuthor;
+    private final Cache<String, List<PostRef>> recentPosts;
+
+    public FollowingFeedService(MongoTemplate mongoTemplate, SubscriptionService subscriptionService,
+                                @Value("${app.feed.following.recent-per-author:50}") int recentPerAuthor,
+                                @Value("${app.feed.following.cache-ttl:2m}") Duration ttl,
+                                @Value("${app.feed.following.cache-max-authors:20000}") long maxAuthors) {
+        this.mongoTemplate = mongoTemplate;
+        this.subscriptionService = subscriptionService;
+        this.recentPerAuthor = recentPerAuthor;
+        this.recentPosts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxAuthors)
+                .build();
+    }
+
+    public PostPage page(String subscriberEmail, String cursor, int limit) {
+        PostRef after = decodeCursor(cursor);
+        Set<String> authors = subscriptionService.followedAuthors(subscriberEmail);
+        if (authors.isEmpty()) {
+            return new PostPage(List.of(), null);
+        }
+
+        Map<String, List<PostRef>> recent = recentPosts.getAll(authors, this::loadRecent);
+        // Authors whose cached refs all precede the cursor but who may have older posts.
+        Set<String> pastCache = new HashSet<>();
+        if (after != null) {
+            for (String author : authors) {
+                List<PostRef> cached = recent.getOrDefault(author, List.of());
+                if (cached.size() >= recentPerAuthor && NEWEST_FIRST.compare(cached.get(cached.size() - 1), after) <= 0) {
+                    pastCache.add(author);
+                }
+            }
+        }
+        Map<String, List<PostRef>> older = pastCache.isEmpty() ? Map.of() : newestPerAuthor(pastCache, after, limit);
+
+        PriorityQueue<AuthorStream> heads = new PriorityQueue<>(authors.size(),
+                (a, b) -> NEWEST_FIRST.compare(a.head(), b.head()));
+        for (String author : authors) {
+            AuthorStream stream = pastCache.contains(author)
+                    ? new AuthorStream(author, older.getOrDefault(author, List.of()), null, limit, limit)
+                    : new AuthorStream(author, recent.getOrDefault(author, List.of()), after, recentPerAuthor, limit);
+            if (stream.head() != null) {
+                heads.add(stream);
+            }
+        }
+
+        List<PostRef> refs = new ArrayList<>(limit);
+        boolean more = false;
+        while (!heads.isEmpty()) {
+            AuthorStream stream = heads.poll();
+            refs.add(stream.head());
+            if (refs.size() == limit) {
+                // Stop before advancing, which could query for a batch this page does not need.
+                more = stream.hasMore() || !heads.isEmpty();
+                break;
+            }
+            if (stream.advance()) {
+                heads.add(stream);
+            }
+        }
+        String nextCursor = more
+                ? new FeedCursor(refs.get(refs.size() - 1).createdAt(), refs.get(refs.size() - 1).id()).encode() : null;
+        return new PostPage(hydrate(refs), nextCursor);
+    }
+
+    /**
+     * Drops the cached recent posts of {@code authorEmail} after they publish
+     * or delete a post. Other nodes catch up within the cache TTL.
+     */
+    public void invalidateAuthor(String authorEmail) {
+        recentPosts.invalidate(authorEmail);
+    }
+
+    private static PostRef decodeCursor(String cursor) {
+        try {
+            FeedCursor decoded = FeedCursor.decode(cursor);
+            return decoded == null ? null : new PostRef(decoded.id(), decoded.createdAt());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    List<BlogPost> hydrate(List<PostRef> refs) {
+        if (refs.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(refs.stream().map(PostRef::id).toList()));
+        BlogPostService.excludeBodies(query);
+        Map<String, BlogPost> byId = new HashMap<>();
+        for (BlogPost blog : mongoTemplate.find(query, BlogPost.class)) {
+            byId.put(blog.getId(), blog);
+        }
+        List<BlogPost> posts = new ArrayList<>(refs.size());
+        for (PostRef ref : refs) {
+            BlogPost blog = byId.get(ref.id());
+            if (blog != null) {
+                posts.add(blog);
+            }
+        }
+        return posts;
+    }
+
+    private Map<String, List<PostRef>> loadRecent(Set<? extends String> authors) {
+        return newestPerAuthor(authors, null, recentPerAuthor);
+    }
+
+    /**
+     * Up to {@code limit} refs per author in {@code authors}, newest first and
+     * after {@code after} if it is given, in one aggregation over the
+     * author/createdAt index.
+     */
+    Map<String, List<PostRef>> newestPerAuthor(Set<? extends String> authors, PostRef after, int limit) {
+        Criteria criteria = Criteria.where("authorEmail").in(authors);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, BlogPostService.olderThan(after.createdAt(), after.id()));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("authorEmail").and("posts", SelectionOperators.Top.top(limit)
+                        .sortBy(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                        .output("_id", "createdAt")));
+        Map<String, List<PostRef>> loaded = new HashMap<>();
+        for (String author : authors) {
+            loaded.put(author, List.of());
+        }
+        for (Document row : mongoTemplate.aggregate(aggregation, BlogPost.class, Document.class)) {
+            List<PostRef> refs = new ArrayList<>();
+            for (Document post : row.getList("posts", Document.class)) {
+                Date createdAt = post.getDate("createdAt");
+                refs.add(new PostRef(post.get("_id").toString(), createdAt != null ? createdAt.getTime() : 0L));
+            }
+            loaded.put(row.getString("_id"), List.copyOf(refs));
+        }
+        return loaded;
+    }
+
+    /**
+     * One author's posts older than the cursor: first the refs it was given,
+     * then, only if those were a full batch and got used up, keyset pages
+     * from Mongo.
+     */
+    private final class AuthorStream {
+        private final String author;
+        private final int batchSize;
+        private List<PostRef> buffer;
+        private int position;
+        private boolean mayHaveMore;
+
+        AuthorStream(String author, List<PostRef> refs, PostRef after, int fullBatch, int batchSize) {
+            this.author = author;
+            this.batchSize = batchSize;
+            this.mayHaveMore = refs.size() >= fullBatch;
+            this.buffer = refs;
+            while (position < buffer.size() && after != null && NEWEST_FIRST.compare(buffer.get(position), after) <= 0) {
+                position++;
+            }
+        }
+
+        PostRef head() {
+            return position < buffer.size() ? buffer.get(position) : null;
+        }
+
+        boolean hasMore() {
+            return position + 1 < buffer.size() || mayHaveMore;
+        }
+
+        boolean advance() {
+            PostRef last = buffer.get(position++);
+            if (position == buffer.size() && mayHaveMore) {
+                refill(last);
+            }
+            return head() != null;
+        }
+
+        private void refill(PostRef after) {
+            buffer = newestPerAuthor(Set.of(author), after, batchSize).get(author);
+            position = 0;
+            mayHaveMore = buffer.size() == batchSize;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.utility.CircuitBreaker;
+import com.blog.Blog_Backend.utility.CircuitBreaker.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The only place that talks to SMTP. Bulk mail runs on a small dedicated pool
+ * (the bulkhead), so a slow mail server can stall at most those threads, and
+ * every send goes through a {@link CircuitBreaker}. While the breaker is open,
+ * or a send fails, messages wait in a bounded outbox; a scheduled drain probes
+ * the server and flushes the outbox once it recovers. Time-sensitive mail such
+ * as OTPs waits in its own small outbox, which drains first and drops messages
+ * once they are too old to be of use.
+ */
+@Service
+public class MailDeliveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDeliveryService.class);
+
+    /**
+     * @param expiresAt when a held message is no longer worth sending; null for bulk mail
+     */
+    public record OutgoingMail(String to, String subject, String text, String html, int attempts, Instant expiresAt) {
+    }
+
+    private final JavaMailSender mailSender;
+    private final CircuitBreaker breaker;
+    private final ThreadPoolExecutor bulkhead;
+    private final BlockingQueue<OutgoingMail> outbox;
+    private final BlockingQueue<OutgoingMail> priorityOutbox;
+    private final Duration priorityTtl;
+    private final int maxAttempts;
+
+    private final Timer sendTimer;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter held;
+    private final Counter dropped;
+
+    public MailDeliveryService(JavaMailSender mailSender,
+                               MeterRegistry registry,
+                               @Value("${app.mail.bulkhead.threads:4}") int threads,
+                               @Value("${app.mail.bulkhead.queue-capacity:1000}") int queueCapacity,
+                               @Value("${app.mail.outbox.capacity:10000}") int outboxCapacity,
+                               @Value("${app.mail.priority-outbox.capacity:500}") int priorityOutboxCapacity,
+                               @Value("${app.mail.priority-outbox.ttl:4m}") Duration priorityTtl,
+                               @Value("${app.mail.max-attempts:3}") int maxAttempts,
+                               @Value("${app.mail.circuit.window-size:20}") int windowSize,
+                               @Value("${app.mail.circuit.minimum-calls:5}") int minimumCalls,
+                               @Value("${app.mail.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+                               @Value("${app.mail.circuit.slow-call-rate-threshold:0.5}") double slowCallRateThreshold,
+                               @Value("${app.mail.circuit.slow-call-duration:3s}") Duration slowCallDuration,
+                               @Value("${app.mail.circuit.open-duration:30s}") Duration openDuration) {
+        this.mailSender = mailSender;
+        this.maxAttempts = maxAttempts;
+        this.breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                slowCallRateThreshold, slowCallDuration, openDuration);
+        this.outbox = new LinkedBlockingQueue<>(outboxCapacity);
+        this.priorityOutbox = new LinkedBlockingQueue<>(priorityOutboxCapacity);
+        this.priorityTtl = priorityTtl;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.bulkhead = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Smtp-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.sendTimer = Timer.builder("mail.send").register(registry);
+        this.sent = Counter.builder("mail.delivery").tag("result", "sent").register(registry);
+        this.failed = Counter.builder("mail.delivery").tag("result", "failed").register(registry);
+        this.held = Counter.builder("mail.delivery").tag("result", "held").register(registry);
+        this.dropped = Counter.builder("mail.delivery").tag("result", "dropped").register(registry);
+        Gauge.builder("mail.circuit.state", breaker, b -> b.getState().ordinal()).register(registry);
+        Gauge.builder("mail.outbox.size", outbox, BlockingQueue::size).register(registry);
+        Gauge.builder("mail.priority.outbox.size", priorityOutbox, BlockingQueue::size).register(registry);
+        Gauge.builder("mail.bulkhead.queue.size", bulkhead, e -> e.getQueue().size()).register(registry);
+    }
+
+    /**
+     * Queues a message on the bulkhead and returns immediately.
+     */
+    public void submit(String to, String subject, String html) {
+        submit(to, subject, null, html);
+    }
+
+    /**
+     * Queues a multipart message with a plain-text alternative to the HTML body.
+     */
+    public void submit(String to, String subject, String text, String html) {
+        dispatch(new OutgoingMail(to, subject, text, html, 0, null));
+    }
+
+    /**
+     * Sends on the calling thread, for lanes that are already isolated such as
+     * the OTP executor. Still subject to the breaker, but held messages go to
+     * the priority outbox, ahead of bulk mail, and are dropped after
+     * {@code app.mail.priority-outbox.ttl}.
+     */
+    public void deliver(String to, String subject, String html) {
+        attempt(new OutgoingMail(to, subject, null, html, 0, Instant.now().plus(priorityTtl)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.drain-interval:15s}")
+    public void drainOutbox() {
+        if (drain(priorityOutbox)) {
+            drain(outbox);
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("state", breaker.getState());
+        details.put("failureRate", breaker.getFailureRate());
+        details.put("slowCallRate", breaker.getSlowCallRate());
+        details.put("outbox", outbox.size());
+        details.put("priorityOutbox", priorityOutbox.size());
+        details.put("bulkheadQueue", bulkhead.getQueue().size());
+        details.put("bulkheadActive", bulkhead.getActiveCount());
+        return details;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkhead.shutdown();
+        if (!outbox.isEmpty() || !priorityOutbox.isEmpty()) {
+            logger.warn("Shutting down with {} undelivered emails in the outboxes", outbox.size() + priorityOutbox.size());
+        }
+    }
+
+    /**
+     * @return whether {@code queue} was emptied, so the next one may drain
+     */
+    private boolean drain(BlockingQueue<OutgoingMail> queue) {
+        OutgoingMail mail;
+        while ((mail = queue.peek()) != null) {
+            if (mail.expiresAt() != null && Instant.now().isAfter(mail.expiresAt())) {
+                queue.remove(mail);
+                dropped.increment();
+                logger.warn("Dropping expired email to {}", mail.to());
+                continue;
+            }
+            if (breaker.getState() == State.CLOSED) {
+                try {
+                    bulkhead.execute(taskFor(mail));
+                    queue.remove(mail);
+                } catch (RejectedExecutionException e) {
+                    return false;
+                }
+                continue;
+            }
+            // Open or half-open: the next message doubles as the recovery probe. It
+            // runs on the bulkhead so a slow server never holds the scheduler thread.
+            if (bulkhead.getQueue().remainingCapacity() == 0 || !breaker.tryAcquirePermission()) {
+                return false;
+            }
+            queue.remove(mail);
+            OutgoingMail probe = mail;
+            try {
+                bulkhead.execute(() -> send(probe));
+            } catch (RejectedExecutionException e) {
+                // Settle the permission, or the breaker would wait on a probe that never ran.
+                breaker.onResult(false, 0);
+                hold(probe);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void dispatch(OutgoingMail mail) {
+        try {
+            bulkhead.execute(taskFor(mail));
+        } catch (RejectedExecutionException e) {
+            hold(mail);
+        }
+    }
+
+    private Runnable taskFor(OutgoingMail mail) {
+        return () -> attempt(mail);
+    }
+
+    private void attempt(OutgoingMail mail) {
+        if (!breaker.tryAcquirePermission()) {
+            hold(mail);
+            return;
+        }
+        send(mail);
+    }
+
+    /**
+     * Sends a message the breaker has already admitted and reports the outcome.
+     */
+    private void send(OutgoingMail mail) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setTo(mail.to());
+            helper.setSubject(mail.subject());
+            if (mail.text() != null) {
+                helper.setText(mail.text(), mail.html());
+            } else {
+                helper.setText(mail.html(), true);
+            }
+            mailSender.send(message);
+            success = true;
+        } catch (MessagingException | RuntimeException e) {
+            // Covers MailException and anything else the transport throws.
+            logger.warn("Failed to send email to {}: {}", mail.to(), e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            sendTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            breaker.onResult(success, elapsed);
+        }
+
+        if (success) {
+            sent.increment();
+            return;
+        }
+        failed.increment();
+        if (mail.attempts() + 1 < maxAttempts) {
+            hold(new OutgoingMail(mail.to(), mail.subject(), mail.text(), mail.html(), mail.attempts() + 1, mail.expiresAt()));
+        } else {
+            dropped.increment();
+            logger.error("Giving up on email to {} after {} attempts", mail.to(), maxAttempts);
+        }
+    }
+
+    private void hold(OutgoingMail mail) {
+        BlockingQueue<OutgoingMail> queue = mail.expiresAt() != null ? priorityOutbox : outbox;
+        if (queue.offer(mail)) {
+            held.increment();
+        } else {
+            dropped.increment();
+            logger.error("Mail outbox full; dropping email to {}", mail.to());
+        }
+    }
+}
@@ -18,19 +18,24 @@ public class OTPService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
     private static final int OTP_LENGTH = 4;
     private static final int OTP_EXPIRY_MINUTES = 5;
+    private static final SecureRandom RANDOM = new SecureRandom();
 
     private String generateOTP() {
-        SecureRandom random = new SecureRandom();
-        StringBuilder otp = new StringBuilder();
+        StringBuilder otp = new StringBuilder(OTP_LENGTH);
         for (int i = 0; i < OTP_LENGTH; i++) {
-            otp.append(random.nextInt(10));
+            otp.append(RANDOM.nextInt(10));
         }
         return otp.toString();
     }
 
     public void sendOTP(String email) {
+        // Per-address budget; the filter only sees IPs, and one IP can target many inboxes.
+        rateLimiter.check("otp-email", email);
         otpRepository.deleteByEmail(email);
 
         String code = generateOTP();
@@ -48,7 +53,7 @@ public class OTPService {
                 "<p>If you did not request this, please ignore this email.</p>" +
                 "</body>" +
                 "</html>";
-        emailService.sendEmail(email, subject, htmlContent);
+        emailService.sendPriorityEmail(email, subject, htmlContent);
     }
 
     public boolean verifyOTP(String email, String code) {
@@ -0,0 +1,111 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.config.RateLimitProperties;
+import com.blog.Blog_Backend.config.RateLimitProperties.Rule;
+import com.blog.Blog_Backend.entity.RateLimitCounter;
+import com.blog.Blog_Backend.utility.StripedTokenBuckets;
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket throttling for the endpoints that cost us Mongo writes or SMTP
+ * sends. Every decision is made against node-local striped buckets first; in
+ * shared mode requests that pass locally are also counted in a fixed-window
+ * Mongo document so the limit holds across instances.
+ */
+@Service
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    private static final int STRIPES = 64;
+
+    private final RateLimitProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StripedTokenBuckets> buckets = new LinkedHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties, MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        properties.getRules().forEach((name, rule) -> {
+            buckets.put(name, new StripedTokenBuckets(
+                    rule.getCapacity(),
+                    rule.getRefillPeriod().toNanos(),
+                    TimeUnit.NANOSECONDS,
+                    properties.getMaxKeysPerRule(),
+                    STRIPES));
+            meterRegistry.gauge("ratelimit.keys", Tags.of("rule", name),
+                    buckets.get(name), StripedTokenBuckets::size);
+        });
+    }
+
+    /**
+     * @return 0 if the request may proceed, otherwise seconds until it may retry
+     */
+    public long tryAcquire(String ruleName, String key) {
+        StripedTokenBuckets limiter = buckets.get(ruleName);
+        if (!properties.isEnabled() || limiter == null || key == null) {
+            return 0;
+        }
+        String bucketKey = key.toLowerCase(Locale.ROOT);
+        long waitNanos = limiter.tryAcquire(bucketKey);
+        if (waitNanos == 0 && properties.isShared()) {
+            waitNanos = tryAcquireShared(ruleName, bucketKey, properties.getRules().get(ruleName));
+        }
+        if (waitNanos == 0) {
+            return 0;
+        }
+        meterRegistry.counter("ratelimit.rejected", "rule", ruleName).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Same as {@link #tryAcquire} for callers outside the filter, e.g. the
+     * email-keyed OTP rule; throws a 429 carrying {@code Retry-After}.
+     */
+    public void check(String ruleName, String key) {
+        long retryAfter = tryAcquire(ruleName, key);
+        if (retryAfter > 0) {
+            throw new RateLimitExceededException(retryAfter);
+        }
+    }
+
+    private long tryAcquireShared(String ruleName, String key, Rule rule) {
+        long windowMillis = rule.getRefillPeriod().toMillis();
+        long now = System.currentTimeMillis();
+        long window = now / windowMillis;
+        long windowEnd = (window + 1) * windowMillis;
+
+        Query query = Query.query(Criteria.where("_id").is(ruleName + ':' + key + ':' + window));
+        Update update = new Update()
+                .inc("count", 1)
+                .setOnInsert("expiresAt", new Date(windowEnd));
+        try {
+            RateLimitCounter counter = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), RateLimitCounter.class);
+            if (counter != null && counter.getCount() > rule.getCapacity()) {
+                return TimeUnit.MILLISECONDS.toNanos(windowEnd - now);
+            }
+        } catch (MongoException e) {
+            // Fail open: the local buckets still bound each node.
+            logger.warn("Shared rate limit check failed for rule {}: {}", ruleName, e.getMessage());
+        }
+        return 0;
+    }
+}
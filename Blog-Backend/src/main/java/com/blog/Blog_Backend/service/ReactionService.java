@@ -0,0 +1,284 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.Reaction;
+import com.blog.Blog_Backend.entity.Reaction.TargetType;
+import com.blog.Blog_Backend.entity.ReactionCounter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Likes on posts and comments, stored as unique (user, target) edges with
+ * sharded counters. Only a write that actually created or removed an edge
+ * moves a counter, so repeated likes and unlikes are idempotent.
+ * <p>
+ * The edge and the counter are separate writes, so a crash or error between
+ * them leaves the counter off by one. {@link #reconcile} compares the
+ * counters with the edges and corrects any drift seen on two runs in a row.
+ */
+@Service
+public class ReactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactionService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final TrendingService trendingService;
+    private final int shards;
+
+    // Aggregated totals per "<type>:<id>"; dropped on this node's own writes
+    // and by TTL for writes made on other nodes.
+    private final Cache<String, Long> totals;
+    // Bumped by every counter write; a load that overlaps one is not cached.
+    private final AtomicLong writes = new AtomicLong();
+    // Drift per "<type>:<id>" seen by the previous reconcile run.
+    private Map<String, Long> suspectedDrift = Map.of();
+
+    public ReactionService(MongoTemplate mongoTemplate, TrendingService trendingService,
+                           @Value("${app.reactions.counter-shards:8}") int shards,
+                           @Value("${app.reactions.count-cache.ttl:30s}") Duration ttl,
+                           @Value("${app.reactions.count-cache.max-size:50000}") long maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.trendingService = trendingService;
+        this.shards = Math.max(1, shards);
+        this.totals = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return true if a new reaction was recorded, false if it already existed
+     */
+    public boolean react(String userEmail, TargetType type, String targetId, String blogId) {
+        Update update = new Update()
+                .setOnInsert("userEmail", userEmail)
+                .setOnInsert("targetType", type)
+                .setOnInsert("targetId", targetId)
+                .setOnInsert("blogId", blogId)
+                .setOnInsert("createdAt", new Date());
+        UpdateResult result;
+        try {
+            result = mongoTemplate.upsert(edge(userEmail, type, targetId), update, Reaction.class);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with an identical reaction; the edge exists.
+            return false;
+        }
+        if (result.getUpsertedId() == null) {
+            return false;
+        }
+        adjustCounter(type, targetId, blogId, 1, new Date());
+        return true;
+    }
+
+    /**
+     * @return true if a reaction was removed
+     */
+    public boolean unreact(String userEmail, TargetType type, String targetId, String blogId) {
+        Reaction removed = mongoTemplate.findAndRemove(edge(userEmail, type, targetId), Reaction.class);
+        if (removed == null) {
+            return false;
+        }
+        adjustCounter(type, targetId, blogId, -1, removed.getCreatedAt());
+        return true;
+    }
+
+    public long total(TargetType type, String targetId) {
+        return totals(type, List.of(targetId)).getOrDefault(targetId, 0L);
+    }
+
+    /**
+     * Reaction totals for {@code targetIds}, served from the cache where
+     * possible and otherwise summed over the counter shards in one query.
+     */
+    public Map<String, Long> totals(TargetType type, Collection<String> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> keys = new HashSet<>();
+        for (String targetId : targetIds) {
+            keys.add(key(type, targetId));
+        }
+        Map<String, Long> cached = new HashMap<>(totals.getAllPresent(keys));
+        if (cached.size() < keys.size()) {
+            keys.removeAll(cached.keySet());
+            long generation = writes.get();
+            Map<String, Long> loaded = load(type, keys);
+            cached.putAll(loaded);
+            if (writes.get() == generation) {
+                // No counter moved while loading, so the values cannot be older than the cache.
+                totals.putAll(loaded);
+            }
+        }
+        Map<String, Long> result = new HashMap<>(cached.size());
+        for (String targetId : targetIds) {
+            result.put(targetId, cached.getOrDefault(key(type, targetId), 0L));
+        }
+        return result;
+    }
+
+    /**
+     * The subset of {@code targetIds} that {@code userEmail} has reacted to.
+     */
+    public Set<String> reactedTo(String userEmail, TargetType type, Collection<String> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = Query.query(Criteria.where("userEmail").is(userEmail)
+                .and("targetType").is(type)
+                .and("targetId").in(targetIds));
+        query.fields().include("targetId").exclude("_id");
+        Set<String> reacted = new HashSet<>();
+        for (Reaction reaction : mongoTemplate.find(query, Reaction.class)) {
+            reacted.add(reaction.getTargetId());
+        }
+        return reacted;
+    }
+
+    public void deleteForBlog(String blogId) {
+        Query query = Query.query(Criteria.where("blogId").is(blogId));
+        mongoTemplate.remove(query, Reaction.class);
+        mongoTemplate.remove(query, ReactionCounter.class);
+        writes.incrementAndGet();
+        totals.invalidate(key(TargetType.POST, blogId));
+    }
+
+    /**
+     * Drops the reactions and counter shards of targets that no longer exist,
+     * such as a deleted comment and its replies.
+     */
+    public void deleteForTargets(TargetType type, Collection<String> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("targetType").is(type).and("targetId").in(targetIds));
+        mongoTemplate.remove(query, Reaction.class);
+        mongoTemplate.remove(query, ReactionCounter.class);
+        writes.incrementAndGet();
+        for (String targetId : targetIds) {
+            totals.invalidate(key(type, targetId));
+        }
+    }
+
+    /**
+     * Counts the edges of every target and compares them with its counter
+     * shards. A target whose counter is off by the same amount as on the
+     * previous run is corrected with an extra shard; drift seen only once may
+     * just be a reaction caught between its two writes. Correction shards are
+     * keyed by the run's minute, so several nodes running together apply each
+     * correction once.
+     */
+    @Scheduled(cron = "${app.reactions.reconcile-cron:0 15 * * * *}")
+    public synchronized void reconcile() {
+        Map<String, Long> edges = new HashMap<>();
+        Map<String, String> blogIds = new HashMap<>();
+        Aggregation byEdges = Aggregation.newAggregation(
+                Aggregation.group("targetType", "targetId").count().as("count").first("blogId").as("blogId"));
+        for (Document row : mongoTemplate.aggregate(byEdges, Reaction.class, Document.class)) {
+            Document id = row.get("_id", Document.class);
+            String key = id.getString("targetType") + ':' + id.getString("targetId");
+            edges.put(key, ((Number) row.get("count")).longValue());
+            blogIds.put(key, row.getString("blogId"));
+        }
+        Map<String, Long> drift = new HashMap<>();
+        Aggregation byCounters = Aggregation.newAggregation(
+                Aggregation.group("targetType", "targetId").sum("count").as("count").first("blogId").as("blogId"));
+        for (Document row : mongoTemplate.aggregate(byCounters, ReactionCounter.class, Document.class)) {
+            Document id = row.get("_id", Document.class);
+            String key = id.getString("targetType") + ':' + id.getString("targetId");
+            drift.put(key, ((Number) row.get("count")).longValue());
+            blogIds.putIfAbsent(key, row.getString("blogId"));
+        }
+        edges.forEach((key, count) -> drift.merge(key, -count, Long::sum));
+
+        String run = Instant.now().truncatedTo(ChronoUnit.MINUTES).toString();
+        Map<String, Long> unconfirmed = new HashMap<>();
+        int corrected = 0;
+        for (Map.Entry<String, Long> entry : drift.entrySet()) {
+            String key = entry.getKey();
+            long off = entry.getValue();
+            if (off == 0) {
+                continue;
+            }
+            if (!Long.valueOf(off).equals(suspectedDrift.get(key))) {
+                unconfirmed.put(key, off);
+                continue;
+            }
+            int separator = key.indexOf(':');
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(key + ":fix:" + run)), new Update()
+                    .setOnInsert("targetType", TargetType.valueOf(key.substring(0, separator)))
+                    .setOnInsert("targetId", key.substring(separator + 1))
+                    .setOnInsert("blogId", blogIds.get(key))
+                    .setOnInsert("count", -off), ReactionCounter.class);
+            writes.incrementAndGet();
+            totals.invalidate(key);
+            corrected++;
+        }
+        suspectedDrift = unconfirmed;
+        if (corrected > 0) {
+            logger.info("Corrected {} reaction counters", corrected);
+        }
+    }
+
+    private Map<String, Long> load(TargetType type, Set<? extends String> keys) {
+        List<String> targetIds = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            targetIds.add(key.substring(type.name().length() + 1));
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("targetType").is(type).and("targetId").in(targetIds)),
+                Aggregation.group("targetId").sum("count").as("total"));
+        Map<String, Long> loaded = new HashMap<>(keys.size());
+        for (String key : keys) {
+            loaded.put(key, 0L);
+        }
+        for (Document row : mongoTemplate.aggregate(aggregation, ReactionCounter.class, Document.class)) {
+            loaded.put(key(type, row.getString("_id")), ((Number) row.get("total")).longValue());
+        }
+        return loaded;
+    }
+
+    private void adjustCounter(TargetType type, String targetId, String blogId, int delta, Date reactedAt) {
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        Query query = Query.query(Criteria.where("_id").is(key(type, targetId) + ':' + shard));
+        Update update = new Update()
+                .setOnInsert("targetType", type)
+                .setOnInsert("targetId", targetId)
+                .setOnInsert("blogId", blogId)
+                .inc("count", delta);
+        mongoTemplate.upsert(query, update, ReactionCounter.class);
+        writes.incrementAndGet();
+        totals.invalidate(key(type, targetId));
+        if (type == TargetType.POST) {
+            trendingService.recordReaction(targetId, delta, reactedAt);
+        }
+    }
+
+    private static Query edge(String userEmail, TargetType type, String targetId) {
+        return Query.query(Criteria.where("userEmail").is(userEmail)
+                .and("targetType").is(type)
+                .and("targetId").is(targetId));
+    }
+
+    private static String key(TargetType type, String targetId) {
+        return type.name() + ':' + targetId;
+    }
+}
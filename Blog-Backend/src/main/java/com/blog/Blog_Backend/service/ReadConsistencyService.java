@@ -0,0 +1,194 @@
+package com.blog.Blog_Backend.service;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoClientException;
+import com.mongodb.MongoServerException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Routes reads to the read preference configured for their query class and
+ * hands out causal-consistency tokens after writes. A client that echoes the
+ * token back in {@link #READ_AFTER_HEADER} gets its next read served from a
+ * member that has already applied the write, even when reading from a secondary.
+ */
+@Service
+public class ReadConsistencyService {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadConsistencyService.class);
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder()
+            .causallyConsistent(true)
+            .build();
+
+    private static final Set<String> TOKEN_ERRORS = Set.of("KeyNotFound", "TimeProofMismatch", "NoSuchSession");
+
+    public enum QueryClass {
+        FEED, POST, AUTH, PROFILE, NOTIFICATIONS
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean tokensEnabled;
+    private final Map<QueryClass, ReadPreference> preferences = new EnumMap<>(QueryClass.class);
+
+    public ReadConsistencyService(MongoTemplate mongoTemplate,
+                                  @Value("${app.mongo.read-your-writes.enabled:true}") boolean tokensEnabled,
+                                  @Value("${app.mongo.read-preference.feed:secondaryPreferred}") String feed,
+                                  @Value("${app.mongo.read-preference.post:secondaryPreferred}") String post,
+                                  @Value("${app.mongo.read-preference.auth:primary}") String auth,
+                                  @Value("${app.mongo.read-preference.profile:primary}") String profile,
+                                  @Value("${app.mongo.read-preference.notifications:primaryPreferred}") String notifications) {
+        this.mongoTemplate = mongoTemplate;
+        this.tokensEnabled = tokensEnabled;
+        preferences.put(QueryClass.FEED, ReadPreference.valueOf(feed));
+        preferences.put(QueryClass.POST, ReadPreference.valueOf(post));
+        preferences.put(QueryClass.AUTH, ReadPreference.valueOf(auth));
+        preferences.put(QueryClass.PROFILE, ReadPreference.valueOf(profile));
+        preferences.put(QueryClass.NOTIFICATIONS, ReadPreference.valueOf(notifications));
+    }
+
+    public ReadPreference preferenceFor(QueryClass queryClass) {
+        return preferences.get(queryClass);
+    }
+
+    /**
+     * Runs a read. Queries built by {@code read} should apply
+     * {@link #preferenceFor(QueryClass)}; when the request carries a read-after
+     * token the operations are bound to a causally consistent session first.
+     */
+    public <T> T read(Function<MongoOperations, T> read) {
+        BsonDocument token = tokensEnabled ? tokenFromRequest() : null;
+        if (token == null) {
+            return read.apply(mongoTemplate);
+        }
+
+        ClientSession session;
+        try {
+            session = mongoTemplate.getMongoDatabaseFactory().getSession(CAUSAL);
+        } catch (MongoClientException e) {
+            logger.debug("Sessions unavailable, reading without read-after token: {}", e.getMessage());
+            return read.apply(mongoTemplate);
+        }
+        try (session) {
+            session.advanceClusterTime(token.getDocument("clusterTime"));
+            session.advanceOperationTime(token.getTimestamp("operationTime"));
+            return read.apply(mongoTemplate.withSession(session));
+        } catch (DataAccessException e) {
+            if (!rejectsToken(e)) {
+                throw e;
+            }
+            logger.debug("Ignoring unusable read-after token: {}", e.getMessage());
+            return read.apply(mongoTemplate);
+        }
+    }
+
+    /**
+     * Whether the server refused the session or the cluster time it carried,
+     * e.g. a token signed by another deployment. Anything else is a real
+     * failure of the read and is not retried.
+     */
+    private static boolean rejectsToken(DataAccessException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoServerException server) {
+                return TOKEN_ERRORS.contains(server.getErrorCodeName());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs a write inside a causally consistent session and, if the deployment
+     * reports an operation time, attaches a read-after token to the response.
+     */
+    public <T> T write(Function<MongoOperations, T> write) {
+        if (!tokensEnabled) {
+            return write.apply(mongoTemplate);
+        }
+
+        try (ClientSession session = mongoTemplate.getMongoDatabaseFactory().getSession(CAUSAL)) {
+            T result = write.apply(mongoTemplate.withSession(session));
+            BsonTimestamp operationTime = session.getOperationTime();
+            BsonDocument clusterTime = session.getClusterTime();
+            if (operationTime != null && clusterTime != null) {
+                BsonDocument token = new BsonDocument()
+                        .append("operationTime", operationTime)
+                        .append("clusterTime", clusterTime);
+                HttpServletResponse response = currentResponse();
+                if (response != null) {
+                    response.setHeader(READ_AFTER_HEADER, encode(token));
+                }
+            }
+            return result;
+        }
+    }
+
+    private BsonDocument tokenFromRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String header = request.getHeader(READ_AFTER_HEADER);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            BsonDocument token = decode(header);
+            if (token.isTimestamp("operationTime") && token.isDocument("clusterTime")
+                    && token.getDocument("clusterTime").isTimestamp("clusterTime")) {
+                return token;
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Malformed {} header", READ_AFTER_HEADER);
+        }
+        return null;
+    }
+
+    private static HttpServletResponse currentResponse() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getResponse();
+        }
+        return null;
+    }
+
+    private static String encode(BsonDocument token) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        new BsonDocumentCodec().encode(new BsonBinaryWriter(buffer), token, EncoderContext.builder().build());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.toByteArray());
+    }
+
+    private static BsonDocument decode(String value) {
+        byte[] bytes = Base64.getUrlDecoder().decode(value);
+        return new BsonDocumentCodec().decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), DecoderContext.builder().build());
+    }
+}
@@ -0,0 +1,299 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.dto.RelatedPost;
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.entity.PostSignature;
+import com.blog.Blog_Backend.utility.MinHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory related-posts index. Every post gets a MinHash signature over
+ * word shingles of its title and content, token shingles of its code snippet
+ * and its code language; LSH band buckets narrow a lookup to the posts that
+ * are likely similar, which are then ranked by estimated Jaccard similarity.
+ * Signatures are updated on create/update and persisted to
+ * {@code post_signatures}. At startup, and every {@code reload-interval} so
+ * that posts written or deleted through other nodes show up here too, the
+ * index is rebuilt from a stream of post metadata; only posts changed since
+ * their signature was stored have their content read, in batches, and are
+ * re-shingled on a fork/join pool.
+ */
+@Service
+public class RelatedPostsIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedPostsIndex.class);
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern CODE_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    private static final int RESHINGLE_BATCH = 200;
+
+    private record Entry(String title, String authorEmail, Date updatedAt, int[] signature, long[] bandKeys) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final MinHash minHash;
+    private final int parallelism;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    // Posts written or deleted on this node while a rebuild is running; the
+    // rebuild's older view of them must not overwrite or resurrect them.
+    private final Set<String> indexedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<String> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public RelatedPostsIndex(MongoTemplate mongoTemplate,
+                             @Value("${app.related.bands:32}") int bands,
+                             @Value("${app.related.rows:4}") int rows,
+                             @Value("${app.related.rebuild-parallelism:0}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.minHash = new MinHash(bands, rows);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public void index(BlogPost post) {
+        if (rebuilding.get()) {
+            indexedDuringRebuild.add(post.getId());
+        }
+        Entry entry = entryFor(post, minHash.signature(shingles(post)));
+        put(post.getId(), entry, false);
+        PostSignature stored = new PostSignature();
+        stored.setBlogId(post.getId());
+        stored.setSignature(MinHash.toBytes(entry.signature()));
+        stored.setSourceUpdatedAt(post.getUpdatedAt());
+        mongoTemplate.save(stored);
+    }
+
+    public void remove(String blogId) {
+        if (rebuilding.get()) {
+            removedDuringRebuild.add(blogId);
+        }
+        unbucket(blogId, entries.remove(blogId));
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(blogId)), PostSignature.class);
+    }
+
+    public List<RelatedPost> related(String blogId, int limit) {
+        Entry entry = entries.get(blogId);
+        if (entry == null) {
+            return List.of();
+        }
+        Set<String> candidates = new HashSet<>();
+        for (long key : entry.bandKeys()) {
+            Set<String> bucket = buckets.get(key);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(blogId);
+
+        List<RelatedPost> related = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            Entry other = entries.get(candidate);
+            if (other != null) {
+                related.add(new RelatedPost(candidate, other.title(), other.authorEmail(),
+                        MinHash.similarity(entry.signature(), other.signature())));
+            }
+        }
+        related.sort(Comparator.comparingDouble(RelatedPost::similarity).reversed().thenComparing(RelatedPost::id));
+        return related.size() > limit ? List.copyOf(related.subList(0, limit)) : related;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.related.reload-interval:15m}",
+            initialDelayString = "${app.related.reload-interval:15m}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Map<String, PostSignature> stored = new HashMap<>();
+            for (PostSignature signature : mongoTemplate.findAll(PostSignature.class)) {
+                stored.put(signature.getBlogId(), signature);
+            }
+            Query query = new Query();
+            query.fields().include("title", "authorEmail", "updatedAt");
+            Set<String> live = new HashSet<>();
+            List<String> stale = new ArrayList<>();
+            try (Stream<BlogPost> posts = mongoTemplate.stream(query, BlogPost.class)) {
+                posts.forEach(post -> {
+                    live.add(post.getId());
+                    PostSignature signature = stored.get(post.getId());
+                    if (isCurrent(signature, post)) {
+                        restore(post, MinHash.fromBytes(signature.getSignature()));
+                    } else {
+                        stale.add(post.getId());
+                    }
+                });
+            }
+
+            int recomputed = 0;
+            for (int from = 0; from < stale.size(); from += RESHINGLE_BATCH) {
+                recomputed += reshingle(stale.subList(from, Math.min(stale.size(), from + RESHINGLE_BATCH)), pool);
+            }
+
+            stored.keySet().removeAll(live);
+            if (!stored.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").in(stored.keySet())), PostSignature.class);
+            }
+            // Posts deleted through another node.
+            for (String blogId : entries.keySet()) {
+                if (!live.contains(blogId) && !indexedDuringRebuild.contains(blogId)) {
+                    unbucket(blogId, entries.remove(blogId));
+                }
+            }
+            logger.info("Related-posts index built for {} posts ({} re-shingled) in {} ms",
+                    live.size(), recomputed, System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            logger.warn("Failed to build related-posts index: {}", e.getMessage());
+        } finally {
+            pool.shutdown();
+            indexedDuringRebuild.clear();
+            removedDuringRebuild.clear();
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Reads the content of {@code blogIds}, re-shingles them on {@code pool}
+     * and stores the fresh signatures.
+     *
+     * @return the number of posts re-shingled
+     */
+    private int reshingle(List<String> blogIds, ForkJoinPool pool) throws InterruptedException, ExecutionException {
+        Query query = Query.query(Criteria.where("_id").in(blogIds));
+        query.fields().include("title", "authorEmail", "content", "codeSnippet", "codeLanguage", "updatedAt");
+        List<BlogPost> posts = mongoTemplate.find(query, BlogPost.class);
+        List<PostSignature> fresh = pool.submit(() -> posts.parallelStream()
+                .map(post -> {
+                    int[] signature = minHash.signature(shingles(post));
+                    restore(post, signature);
+                    PostSignature stored = new PostSignature();
+                    stored.setBlogId(post.getId());
+                    stored.setSignature(MinHash.toBytes(signature));
+                    stored.setSourceUpdatedAt(post.getUpdatedAt());
+                    return stored;
+                })
+                .toList()).get();
+        if (!fresh.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostSignature.class);
+            for (PostSignature signature : fresh) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(signature.getBlogId())),
+                        new Update().set("signature", signature.getSignature())
+                                .set("sourceUpdatedAt", signature.getSourceUpdatedAt()));
+            }
+            bulk.execute();
+        }
+        return fresh.size();
+    }
+
+    private boolean isCurrent(PostSignature stored, BlogPost post) {
+        return stored != null
+                && stored.getSignature() != null
+                && stored.getSignature().length == minHash.size() * Integer.BYTES
+                && Objects.equals(stored.getSourceUpdatedAt(), post.getUpdatedAt());
+    }
+
+    /**
+     * Puts {@code post} into the index as a rebuild saw it, unless this node
+     * wrote or deleted it while the rebuild was running.
+     */
+    private void restore(BlogPost post, int[] signature) {
+        if (!indexedDuringRebuild.contains(post.getId()) && !removedDuringRebuild.contains(post.getId())) {
+            put(post.getId(), entryFor(post, signature), true);
+        }
+    }
+
+    private Entry entryFor(BlogPost post, int[] signature) {
+        // An untouched signature means the post had no shingles; bucketing it
+        // would make every empty post "identical" to every other.
+        long[] bandKeys = signature[0] == Integer.MAX_VALUE ? new long[0] : minHash.bandKeys(signature);
+        return new Entry(post.getTitle(), post.getAuthorEmail(), post.getUpdatedAt(), signature, bandKeys);
+    }
+
+    private synchronized void put(String blogId, Entry entry, boolean fromRebuild) {
+        Entry previous = entries.get(blogId);
+        if (fromRebuild && previous != null && Objects.equals(previous.updatedAt(), entry.updatedAt())) {
+            // Unchanged since it was indexed; skip the re-bucketing.
+            return;
+        }
+        unbucket(blogId, previous);
+        entries.put(blogId, entry);
+        for (long key : entry.bandKeys()) {
+            buckets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(blogId);
+        }
+    }
+
+    private synchronized void unbucket(String blogId, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (long key : entry.bandKeys()) {
+            Set<String> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(blogId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private static Set<String> shingles(BlogPost post) {
+        Set<String> shingles = new HashSet<>();
+        for (String word : words(post.getTitle(), WORD_SEPARATOR)) {
+            shingles.add("t:" + word);
+        }
+        addShingles(shingles, "w:", words(post.getContent(), WORD_SEPARATOR), 2);
+        addShingles(shingles, "c:", words(post.getCodeSnippet(), CODE_SEPARATOR), 3);
+        if (post.getCodeLanguage() != null && !post.getCodeLanguage().isBlank()) {
+            shingles.add("lang:" + post.getCodeLanguage().trim().toLowerCase(Locale.ROOT));
+        }
+        return shingles;
+    }
+
+    private static void addShingles(Set<String> shingles, String prefix, List<String> tokens, int size) {
+        if (tokens.size() < size) {
+            tokens.forEach(token -> shingles.add(prefix + token));
+            return;
+        }
+        for (int i = 0; i + size <= tokens.size(); i++) {
+            shingles.add(prefix + String.join(" ", tokens.subList(i, i + size)));
+        }
+    }
+
+    private static List<String> words(String text, Pattern separator) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : separator.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,197 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.Subscriber;
+import com.blog.Blog_Backend.entity.Subscription;
+import com.blog.Blog_Backend.entity.SubscriptionCounter;
+import com.mongodb.client.result.UpdateResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Author subscriptions stored as one document per edge. Subscribe and
+ * unsubscribe are single atomic writes, and only a write that actually
+ * created or removed an edge moves the counters.
+ */
+@Service
+public class SubscriptionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    // Authors each recently active user follows; dropped on that user's own
+    // subscribe/unsubscribe, and by TTL for changes made on other nodes.
+    private final Cache<String, Set<String>> following;
+
+    public SubscriptionService(MongoTemplate mongoTemplate,
+                               @Value("${app.subscriptions.following-cache.ttl:10m}") Duration ttl,
+                               @Value("${app.subscriptions.following-cache.max-size:10000}") long maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.following = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return true if a new subscription was created, false if it already existed
+     */
+    public boolean subscribe(String subscriberEmail, String authorEmail) {
+        Update update = new Update()
+                .setOnInsert("subscriberEmail", subscriberEmail)
+                .setOnInsert("authorEmail", authorEmail)
+                .setOnInsert("createdAt", new Date());
+        UpdateResult result;
+        try {
+            result = mongoTemplate.upsert(edge(subscriberEmail, authorEmail), update, Subscription.class);
+        } catch (DuplicateKeyException e) {
+            // Lost a race with an identical subscribe; the edge exists.
+            return false;
+        } finally {
+            following.invalidate(subscriberEmail);
+        }
+        if (result.getUpsertedId() == null) {
+            return false;
+        }
+        adjustCounters(subscriberEmail, authorEmail, 1);
+        return true;
+    }
+
+    /**
+     * @return true if a subscription was removed
+     */
+    public boolean unsubscribe(String subscriberEmail, String authorEmail) {
+        long deleted = mongoTemplate.remove(edge(subscriberEmail, authorEmail), Subscription.class).getDeletedCount();
+        following.invalidate(subscriberEmail);
+        if (deleted == 0) {
+            return false;
+        }
+        adjustCounters(subscriberEmail, authorEmail, -1);
+        return true;
+    }
+
+    public boolean isSubscribed(String subscriberEmail, String authorEmail) {
+        return following(subscriberEmail).contains(authorEmail);
+    }
+
+    /**
+     * Subscription status of {@code subscriberEmail} for each of {@code authorEmails}.
+     */
+    public Map<String, Boolean> statuses(String subscriberEmail, Collection<String> authorEmails) {
+        Set<String> authors = following(subscriberEmail);
+        Map<String, Boolean> statuses = new LinkedHashMap<>();
+        for (String authorEmail : authorEmails) {
+            statuses.put(authorEmail, authors.contains(authorEmail));
+        }
+        return statuses;
+    }
+
+    /**
+     * Authors {@code subscriberEmail} follows, from the following-set cache.
+     */
+    public Set<String> followedAuthors(String subscriberEmail) {
+        return following(subscriberEmail);
+    }
+
+    private Set<String> following(String subscriberEmail) {
+        return following.get(subscriberEmail, email -> {
+            Query query = Query.query(Criteria.where("subscriberEmail").is(email));
+            query.fields().include("authorEmail").exclude("_id");
+            Set<String> authors = new HashSet<>();
+            for (Subscription subscription : mongoTemplate.find(query, Subscription.class)) {
+                authors.add(subscription.getAuthorEmail());
+            }
+            return Set.copyOf(authors);
+        });
+    }
+
+    public SubscriptionCounter counts(String email) {
+        SubscriptionCounter counter = mongoTemplate.findById(email, SubscriptionCounter.class);
+        if (counter == null) {
+            counter = new SubscriptionCounter();
+            counter.setEmail(email);
+        }
+        return counter;
+    }
+
+    /**
+     * One page of an author's followers in email order, starting after
+     * {@code after} (null for the first page). Keyset paging over
+     * {@code author_subscriber_idx}, so every page costs the same.
+     */
+    public List<String> followerPage(String authorEmail, String after, int limit) {
+        Criteria criteria = Criteria.where("authorEmail").is(authorEmail);
+        if (after != null) {
+            criteria = criteria.and("subscriberEmail").gt(after);
+        }
+        Query query = Query.query(criteria).with(Sort.by("subscriberEmail")).limit(limit);
+        query.fields().include("subscriberEmail").exclude("_id");
+        List<String> emails = new ArrayList<>(limit);
+        for (Subscription subscription : mongoTemplate.find(query, Subscription.class)) {
+            emails.add(subscription.getSubscriberEmail());
+        }
+        return emails;
+    }
+
+    /**
+     * Which of {@code candidates} follow {@code authorEmail}.
+     */
+    public Set<String> followersAmong(String authorEmail, Collection<String> candidates) {
+        Query query = Query.query(Criteria.where("authorEmail").is(authorEmail).and("subscriberEmail").in(candidates));
+        query.fields().include("subscriberEmail").exclude("_id");
+        Set<String> followers = new HashSet<>();
+        for (Subscription subscription : mongoTemplate.find(query, Subscription.class)) {
+            followers.add(subscription.getSubscriberEmail());
+        }
+        return followers;
+    }
+
+    /**
+     * Moves subscriptions still embedded in {@code subscribers.subscribedAuthors}
+     * into edge documents. Each legacy document is emptied once migrated, so
+     * this is a no-op on every start after the first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedSubscriptions() {
+        Query legacy = Query.query(Criteria.where("subscribedAuthors.0").exists(true));
+        int migrated = 0;
+        for (Subscriber subscriber : mongoTemplate.find(legacy, Subscriber.class)) {
+            for (String authorEmail : subscriber.getSubscribedAuthors()) {
+                if (subscribe(subscriber.getEmail(), authorEmail)) {
+                    migrated++;
+                }
+            }
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(subscriber.getId())),
+                    new Update().set("subscribedAuthors", List.of()), Subscriber.class);
+        }
+        if (migrated > 0) {
+            logger.info("Migrated {} embedded author subscriptions to the subscriptions collection", migrated);
+        }
+    }
+
+    private void adjustCounters(String subscriberEmail, String authorEmail, int delta) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(authorEmail)),
+                new Update().inc("followers", delta), SubscriptionCounter.class);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(subscriberEmail)),
+                new Update().inc("following", delta), SubscriptionCounter.class);
+    }
+
+    private static Query edge(String subscriberEmail, String authorEmail) {
+        return Query.query(Criteria.where("subscriberEmail").is(subscriberEmail).and("authorEmail").is(authorEmail));
+    }
+}
@@ -0,0 +1,199 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.RefreshToken;
+import com.blog.Blog_Backend.entity.User;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and validates the HMAC-signed access and refresh tokens used in
+ * stateless mode. Verification keys are held in memory, so validating a
+ * bearer token needs neither a database lookup nor a password hash.
+ * Refresh tokens are the exception: each one is recorded when issued and
+ * consumed when used, so they rotate on every refresh and can be revoked.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String TOKEN_USE = "token_use";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final String issuer;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final String currentKeyId;
+    private final JwtEncoder encoder;
+    private final JwtDecoder accessDecoder;
+    private final JwtDecoder refreshDecoder;
+    private final MongoTemplate mongoTemplate;
+
+    public TokenService(MongoTemplate mongoTemplate,
+                        @Value("${app.auth.token.secret:}") String secret,
+                        @Value("${app.auth.token.previous-secrets:}") List<String> previousSecrets,
+                        @Value("${app.auth.token.issuer:blog-backend}") String issuer,
+                        @Value("${app.auth.token.access-ttl:15m}") Duration accessTtl,
+                        @Value("${app.auth.token.refresh-ttl:14d}") Duration refreshTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.issuer = issuer;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+
+        List<JWK> keys = new ArrayList<>();
+        OctetSequenceKey current = toKey(resolveSecret(secret));
+        keys.add(current);
+        for (String previous : previousSecrets) {
+            if (!previous.isBlank()) {
+                keys.add(toKey(previous.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        this.currentKeyId = current.getKeyID();
+
+        JWKSource<SecurityContext> keySource = new ImmutableJWKSet<>(new JWKSet(keys));
+        this.encoder = new NimbusJwtEncoder(keySource);
+        this.accessDecoder = decoder(keySource, ACCESS);
+        this.refreshDecoder = decoder(keySource, REFRESH);
+    }
+
+    public JwtDecoder accessTokenDecoder() {
+        return accessDecoder;
+    }
+
+    public TokenPair issue(String email) {
+        Instant now = Instant.now();
+        String refreshId = UUID.randomUUID().toString();
+        String refreshToken = encode(email, REFRESH, refreshId, now, refreshTtl);
+        mongoTemplate.insert(new RefreshToken(refreshId, email, Date.from(now.plus(refreshTtl))));
+        return new TokenPair(
+                encode(email, ACCESS, UUID.randomUUID().toString(), now, accessTtl),
+                refreshToken,
+                accessTtl.toSeconds()
+        );
+    }
+
+    /**
+     * Trades a refresh token for a new pair. The old refresh token is consumed,
+     * so presenting it again, or after {@link #revokeAll}, is rejected.
+     */
+    public TokenPair refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = refreshDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        String email = jwt.getSubject();
+        if (jwt.getId() == null || mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("_id").is(jwt.getId()).and("email").is(email)), RefreshToken.class) == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token was revoked or already used");
+        }
+
+        Query userQuery = Query.query(Criteria.where("email").is(email));
+        userQuery.fields().include("email", "isVerified");
+        User user = mongoTemplate.findOne(userQuery, User.class);
+        if (user == null || !user.isVerified()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        }
+        return issue(email);
+    }
+
+    /**
+     * Revokes every outstanding refresh token of {@code email}, e.g. after a
+     * password change. Access tokens already issued run out within their TTL.
+     */
+    public void revokeAll(String email) {
+        mongoTemplate.remove(Query.query(Criteria.where("email").is(email)), RefreshToken.class);
+    }
+
+    private String encode(String subject, String use, String id, Instant now, Duration ttl) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(subject)
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .id(id)
+                .claim(TOKEN_USE, use)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).keyId(currentKeyId).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    private JwtDecoder decoder(JWKSource<SecurityContext> keySource, String use) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.HS256, keySource));
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer),
+                new JwtClaimValidator<String>(TOKEN_USE, use::equals)
+        ));
+        return decoder;
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("app.auth.token.secret is not set; using a random per-process key. "
+                    + "Tokens will not survive a restart or validate on other nodes.");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static OctetSequenceKey toKey(byte[] secret) {
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("Token signing secrets must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        try {
+            OctetSequenceKey key = new OctetSequenceKey.Builder(secret).algorithm(JWSAlgorithm.HS256).build();
+            return new OctetSequenceKey.Builder(key).keyIDFromThumbprint().build();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Unable to derive token key id", e);
+        }
+    }
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.TrendingScore;
+import com.blog.Blog_Backend.utility.DecayedRanking;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Trending posts, ranked by views, comments and reactions that decay with a
+ * configurable half-life. Events update the in-memory ranking as they happen,
+ * so reading the top K never queries Mongo. Each node ranks the traffic it
+ * serves and snapshots its own ranking to {@code trending_scores} under its
+ * node id, which it reloads on startup; a node without a snapshot of its own
+ * starts from the highest score any node recorded for each post.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final DecayedRanking ranking;
+    private final long halfLifeMillis;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final double reactionWeight;
+    private final double minScore;
+    private final Duration retention;
+    private final String nodeId;
+
+    public TrendingService(MongoTemplate mongoTemplate,
+                           @Value("${app.trending.half-life:24h}") Duration halfLife,
+                           @Value("${app.trending.weights.view:1}") double viewWeight,
+                           @Value("${app.trending.weights.comment:5}") double commentWeight,
+                           @Value("${app.trending.weights.reaction:3}") double reactionWeight,
+                           @Value("${app.trending.min-score:0.05}") double minScore,
+                           @Value("${app.trending.snapshot-retention:7d}") Duration retention,
+                           @Value("${app.trending.node-id:}") String nodeId) {
+        this.mongoTemplate = mongoTemplate;
+        this.ranking = new DecayedRanking(halfLife.toMillis(), System.currentTimeMillis());
+        this.halfLifeMillis = halfLife.toMillis();
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.reactionWeight = reactionWeight;
+        this.minScore = minScore;
+        this.retention = retention;
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+    }
+
+    public void recordView(String blogId) {
+        ranking.add(blogId, viewWeight, System.currentTimeMillis());
+    }
+
+    public void recordComment(String blogId) {
+        ranking.add(blogId, commentWeight, System.currentTimeMillis());
+    }
+
+    /**
+     * @param delta     +1 for a new reaction, -1 for a removed one
+     * @param reactedAt when the reaction was made; a removal takes back only
+     *                  what the reaction still contributes after decaying since
+     */
+    public void recordReaction(String blogId, int delta, Date reactedAt) {
+        long at = reactedAt != null ? reactedAt.getTime() : System.currentTimeMillis();
+        ranking.add(blogId, reactionWeight * delta, at);
+    }
+
+    public List<DecayedRanking.Ranked> top(int limit) {
+        return ranking.top(limit, System.currentTimeMillis());
+    }
+
+    public void delete(String blogId) {
+        ranking.remove(blogId);
+        mongoTemplate.remove(Query.query(Criteria.where("blogId").is(blogId)), TrendingScore.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            List<TrendingScore> saved = mongoTemplate.find(
+                    Query.query(Criteria.where("node").is(nodeId)), TrendingScore.class);
+            if (saved.isEmpty()) {
+                Map<String, TrendingScore> best = new HashMap<>();
+                long now = System.currentTimeMillis();
+                for (TrendingScore score : mongoTemplate.findAll(TrendingScore.class)) {
+                    if (score.getBlogId() == null) {
+                        continue; // written before snapshots were kept per node
+                    }
+                    best.merge(score.getBlogId(), score, (a, b) -> decayed(a, now) >= decayed(b, now) ? a : b);
+                }
+                saved = new ArrayList<>(best.values());
+            }
+            for (TrendingScore score : saved) {
+                ranking.add(score.getBlogId(), score.getScore(), score.getScoredAt().getTime());
+            }
+            logger.info("Restored trending scores for {} posts on node {}", saved.size(), nodeId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not restore trending scores, starting empty: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval:5m}",
+            initialDelayString = "${app.trending.snapshot-interval:5m}")
+    public synchronized void snapshot() {
+        long now = System.currentTimeMillis();
+        ranking.prune(minScore, now);
+        Map<String, Double> scores = ranking.snapshot(now);
+        Date scoredAt = new Date(now);
+        try {
+            if (!scores.isEmpty()) {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TrendingScore.class);
+                scores.forEach((blogId, score) -> bulk.upsert(
+                        Query.query(Criteria.where("_id").is(nodeId + ':' + blogId)),
+                        new Update().set("node", nodeId).set("blogId", blogId)
+                                .set("score", score).set("scoredAt", scoredAt)));
+                bulk.execute();
+            }
+            // Whatever this snapshot did not touch has decayed out of this node's ranking.
+            mongoTemplate.remove(Query.query(Criteria.where("node").is(nodeId).and("scoredAt").lt(scoredAt)),
+                    TrendingScore.class);
+            // Snapshots of nodes that are gone.
+            mongoTemplate.remove(Query.query(Criteria.where("scoredAt").lt(new Date(now - retention.toMillis()))),
+                    TrendingScore.class);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to snapshot trending scores for {} posts: {}", scores.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private double decayed(TrendingScore score, long now) {
+        return score.getScore() * Math.pow(0.5, (now - score.getScoredAt().getTime()) / (double) halfLifeMillis);
+    }
+
+    private static String hostName() {
+        String host = System.getenv("HOSTNAME");
+        if (host != null && !host.isBlank()) {
+            return host;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
+}
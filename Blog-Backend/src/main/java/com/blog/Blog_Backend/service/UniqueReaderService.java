@@ -0,0 +1,184 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.ReaderSketch;
+import com.blog.Blog_Backend.utility.HyperLogLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates distinct readers per post. Each node keeps HyperLogLog sketches
+ * for today's bucket and the all-time bucket of every post it serves, and
+ * periodically merges changed sketches into {@code reader_sketches}; since a
+ * merge is a register-wise max, nodes never overwrite each other's readers.
+ */
+@Service
+public class UniqueReaderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueReaderService.class);
+    private static final int MAX_MERGE_ATTEMPTS = 5;
+    private static final Duration IDLE_EVICTION = Duration.ofMinutes(10);
+
+    public enum Window {DAY, WEEK, ALL}
+
+    public record Estimate(String blogId, Window window, long uniqueReaders, double relativeStandardError) {
+    }
+
+    private record Key(String blogId, String bucket) {
+    }
+
+    private static final class Local {
+        final HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        volatile boolean dirty;
+        volatile long touchedAt = System.currentTimeMillis();
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration dailyRetention;
+    private final ConcurrentHashMap<Key, Local> sketches = new ConcurrentHashMap<>();
+
+    public UniqueReaderService(MongoTemplate mongoTemplate,
+                               @Value("${app.readers.daily-retention:90d}") Duration dailyRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.dailyRetention = dailyRetention;
+    }
+
+    public void record(String blogId, String readerId) {
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        add(new Key(blogId, today), readerId);
+        add(new Key(blogId, ReaderSketch.ALL_TIME), readerId);
+    }
+
+    public Estimate estimate(String blogId, Window window) {
+        List<String> buckets = bucketsFor(window);
+        HyperLogLog merged = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        Query query = Query.query(Criteria.where("blogId").is(blogId).and("bucket").in(buckets));
+        for (ReaderSketch stored : mongoTemplate.find(query, ReaderSketch.class)) {
+            merged.merge(HyperLogLog.fromBytes(stored.getRegisters()));
+        }
+        for (String bucket : buckets) {
+            Local local = sketches.get(new Key(blogId, bucket));
+            if (local != null) {
+                merged.merge(local.sketch);
+            }
+        }
+        return new Estimate(blogId, window, merged.estimate(), merged.relativeStandardError());
+    }
+
+    public void delete(String blogId) {
+        sketches.keySet().removeIf(key -> key.blogId().equals(blogId));
+        mongoTemplate.remove(Query.query(Criteria.where("blogId").is(blogId)), ReaderSketch.class);
+    }
+
+    @Scheduled(fixedDelayString = "${app.readers.flush-interval:30s}")
+    public void flush() {
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        long idleBefore = System.currentTimeMillis() - IDLE_EVICTION.toMillis();
+        for (Map.Entry<Key, Local> entry : sketches.entrySet()) {
+            Key key = entry.getKey();
+            Local local = entry.getValue();
+            if (local.dirty) {
+                local.dirty = false;
+                try {
+                    local.sketch.merge(HyperLogLog.fromBytes(mergeInto(key, local.sketch.toBytes())));
+                } catch (RuntimeException e) {
+                    local.dirty = true;
+                    logger.warn("Failed to persist reader sketch {}/{}: {}", key.blogId(), key.bucket(), e.getMessage());
+                }
+            } else if (local.touchedAt < idleBefore
+                    || (!key.bucket().equals(ReaderSketch.ALL_TIME) && !key.bucket().equals(today))) {
+                // Everything in it is persisted; reloading later is lossless.
+                sketches.remove(key, local);
+            }
+        }
+    }
+
+    private void add(Key key, String readerId) {
+        Local local = sketches.computeIfAbsent(key, k -> new Local());
+        local.touchedAt = System.currentTimeMillis();
+        if (local.sketch.add(readerId)) {
+            local.dirty = true;
+        }
+    }
+
+    /**
+     * Merges {@code registers} into the stored sketch with optimistic
+     * concurrency and returns the merged registers.
+     */
+    private byte[] mergeInto(Key key, byte[] registers) {
+        Query byKey = Query.query(Criteria.where("blogId").is(key.blogId()).and("bucket").is(key.bucket()));
+        for (int attempt = 0; attempt < MAX_MERGE_ATTEMPTS; attempt++) {
+            ReaderSketch stored = mongoTemplate.findOne(byKey, ReaderSketch.class);
+            if (stored == null) {
+                ReaderSketch created = new ReaderSketch();
+                created.setId(key.blogId() + ':' + key.bucket());
+                created.setBlogId(key.blogId());
+                created.setBucket(key.bucket());
+                created.setRegisters(registers);
+                created.setExpiresAt(expiryFor(key.bucket()));
+                try {
+                    mongoTemplate.insert(created);
+                    return registers;
+                } catch (DuplicateKeyException e) {
+                    continue;
+                }
+            }
+
+            byte[] merged = max(stored.getRegisters(), registers);
+            if (Arrays.equals(merged, stored.getRegisters())) {
+                return merged;
+            }
+            Query expected = Query.query(Criteria.where("_id").is(stored.getId()).and("version").is(stored.getVersion()));
+            Update update = new Update().set("registers", merged).inc("version", 1);
+            if (mongoTemplate.updateFirst(expected, update, ReaderSketch.class).getModifiedCount() == 1) {
+                return merged;
+            }
+        }
+        throw new IllegalStateException("Too much contention merging reader sketch");
+    }
+
+    private static byte[] max(byte[] left, byte[] right) {
+        byte[] merged = left.clone();
+        for (int i = 0; i < merged.length; i++) {
+            if (right[i] > merged[i]) {
+                merged[i] = right[i];
+            }
+        }
+        return merged;
+    }
+
+    private Date expiryFor(String bucket) {
+        if (bucket.equals(ReaderSketch.ALL_TIME)) {
+            return null;
+        }
+        return Date.from(LocalDate.parse(bucket).atStartOfDay(ZoneOffset.UTC).toInstant().plus(dailyRetention));
+    }
+
+    private static List<String> bucketsFor(Window window) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        return switch (window) {
+            case DAY -> List.of(today.toString());
+            case WEEK -> {
+                List<String> days = new ArrayList<>(7);
+                for (int i = 0; i < 7; i++) {
+                    days.add(today.minusDays(i).toString());
+                }
+                yield days;
+            }
+            case ALL -> List.of(ReaderSketch.ALL_TIME);
+        };
+    }
+}
@@ -1,11 +1,18 @@
 package com.blog.Blog_Backend.service;
 
+import com.blog.Blog_Backend.config.PasswordHashingRejectedException;
+import com.blog.Blog_Backend.config.VerifiedCredentialCache;
 import com.blog.Blog_Backend.entity.User;
 import com.blog.Blog_Backend.repository.UserRepository;
+import com.blog.Blog_Backend.service.EmailMembershipFilter.EmailSet;
+import com.blog.Blog_Backend.service.ReadConsistencyService.QueryClass;
 import com.blog.Blog_Backend.utility.SecurityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -29,15 +36,35 @@ public class UserService {
     @Autowired
     private OTPService otpService;
 
+    @Autowired
+    private ReadConsistencyService consistency;
+
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @Autowired
+    private EmailMembershipFilter membershipFilter;
+
+    @Autowired
+    private TokenService tokenService;
+
     public User createUser(User user) {
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        if (membershipFilter.mightContain(EmailSet.USERS, user.getEmail())
+                && userRepository.findByEmail(user.getEmail()).isPresent()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
         }
         if (user.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setPassword(hash(user.getPassword()));
         }
+        user.setId(null);
         user.setVerified(false);
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
+        }
+        membershipFilter.add(EmailSet.USERS, user.getEmail());
         otpService.sendOTP(user.getEmail());
         return savedUser;
     }
@@ -52,6 +79,14 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    private String hash(String rawPassword) {
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } catch (PasswordHashingRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Server is busy, please retry shortly");
+        }
+    }
+
     @CachePut(value = "users", key = "#email")
     public User updateUserByEmail(String email, User updates) {
         String currentUserEmail = SecurityUtils.getCurrentUserEmail();
@@ -69,7 +104,9 @@ public class UserService {
         existing.setName(updates.getName());
 
         if (updates.getPassword() != null && !"OAUTH_PASSWORD".equals(existing.getPassword())) {
-            existing.setPassword(passwordEncoder.encode(updates.getPassword()));
+            existing.setPassword(hash(updates.getPassword()));
+            verifiedCredentialCache.evict(email);
+            tokenService.revokeAll(email);
         }
 
         existing.setPhone(updates.getPhone());
@@ -100,8 +137,13 @@ public class UserService {
 
     @Cacheable(value = "users", key = "#email")
     public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        Query query = Query.query(Criteria.where("email").is(email))
+                .withReadPreference(consistency.preferenceFor(QueryClass.PROFILE));
+        User user = consistency.read(ops -> ops.findOne(query, User.class));
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        return user;
     }
 
     public String getLinkedInLinkByEmail(String email) {
@@ -0,0 +1,236 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.entity.PostStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views in memory and writes them to {@code post_stats} as one
+ * unordered bulk of {@code $inc} upserts per flush. Recording a view is a
+ * {@link LongAdder} increment, so request threads never touch Mongo. At most
+ * one flush interval of views is lost if the process dies without running
+ * {@link #shutdown()}.
+ * <p>
+ * Every increment carries a flush id that the post's row remembers. A write
+ * whose outcome is unknown, such as a timeout, is retried with the same id
+ * and skipped if it had landed after all; writes that definitely failed are
+ * sent again as new views, and the ones that succeeded are not resent.
+ */
+@Service
+public class ViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounter.class);
+
+    // Entries with nothing to flush for this many consecutive flushes are dropped.
+    private static final int IDLE_FLUSHES_BEFORE_EVICTION = 12;
+    // Applied flush ids remembered per post; a retry comes within a few flushes.
+    private static final int REMEMBERED_FLUSHES = 32;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ConcurrentHashMap<String, Tally> tallies = new ConcurrentHashMap<>();
+    // Evicted tallies, flushed once more to catch a view that raced the eviction.
+    private final List<Tally> retired = new ArrayList<>();
+    private final Counter recorded;
+    private final Timer flushTimer;
+    private volatile long lastFlushAt = System.currentTimeMillis();
+
+    public ViewCounter(MongoTemplate mongoTemplate, MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.recorded = Counter.builder("views.recorded").register(registry);
+        this.flushTimer = Timer.builder("views.flush").register(registry);
+        Gauge.builder("views.flush.lag", this, c -> (System.currentTimeMillis() - c.lastFlushAt) / 1000.0)
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("views.pending", this, ViewCounter::unflushed).register(registry);
+        Gauge.builder("views.tracked.posts", tallies, Map::size).register(registry);
+    }
+
+    public void record(String blogId) {
+        tallies.computeIfAbsent(blogId, Tally::new).views.increment();
+        recorded.increment();
+    }
+
+    /**
+     * Persisted totals plus views this node has not flushed yet. Posts without
+     * any views map to zero.
+     */
+    public Map<String, Long> totals(Collection<String> blogIds) {
+        Map<String, Long> totals = new HashMap<>(blogIds.size() * 2);
+        if (blogIds.isEmpty()) {
+            return totals;
+        }
+        Query query = Query.query(Criteria.where("_id").in(blogIds));
+        query.fields().include("views");
+        for (PostStats stats : mongoTemplate.find(query, PostStats.class)) {
+            totals.put(stats.getBlogId(), stats.getViews());
+        }
+        for (String blogId : blogIds) {
+            Tally tally = tallies.get(blogId);
+            long pending = tally != null ? tally.pending() : 0;
+            totals.merge(blogId, pending, Long::sum);
+        }
+        return totals;
+    }
+
+    public long total(String blogId) {
+        return totals(List.of(blogId)).getOrDefault(blogId, 0L);
+    }
+
+    public void delete(String blogId) {
+        tallies.remove(blogId);
+        synchronized (this) {
+            retired.removeIf(tally -> tally.blogId.equals(blogId));
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(blogId)), PostStats.class);
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:5s}")
+    public synchronized void flush() {
+        List<Tally> flushing = new ArrayList<>(retired);
+        retired.clear();
+        Iterator<Tally> live = tallies.values().iterator();
+        while (live.hasNext()) {
+            Tally tally = live.next();
+            if (tally.pending() > 0) {
+                flushing.add(tally);
+                tally.idleFlushes = 0;
+            } else if (++tally.idleFlushes >= IDLE_FLUSHES_BEFORE_EVICTION) {
+                // A view can still land on it after removal; the next flush picks that up.
+                live.remove();
+                retired.add(tally);
+            }
+        }
+
+        String flushId = UUID.randomUUID().toString();
+        List<Write> writes = new ArrayList<>();
+        for (Tally tally : flushing) {
+            writes.addAll(tally.unconfirmed);
+            long fresh = tally.pending() - tally.inFlight();
+            if (fresh > 0) {
+                Write write = new Write(tally, flushId, fresh);
+                tally.unconfirmed.add(write);
+                writes.add(write);
+            }
+        }
+        if (writes.isEmpty()) {
+            lastFlushAt = System.currentTimeMillis();
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostStats.class);
+            for (Write write : writes) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(write.tally().blogId).and("flushes").ne(write.flushId())),
+                        new Update().inc("views", write.delta())
+                                .push("flushes").slice(-REMEMBERED_FLUSHES).each(write.flushId()));
+            }
+            bulk.execute();
+            writes.forEach(ViewCounter::confirm);
+            lastFlushAt = System.currentTimeMillis();
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                // A duplicate key means the row already lists this flush id: an earlier attempt landed.
+                if (error.getCode() != DUPLICATE_KEY) {
+                    failed.add(error.getIndex());
+                    // Not applied; the views go out again under the next flush id.
+                    Write write = writes.get(error.getIndex());
+                    write.tally().unconfirmed.remove(write);
+                }
+            }
+            boolean acknowledged = !(e.getCause() instanceof MongoBulkWriteException cause)
+                    || cause.getWriteConcernError() == null;
+            for (int i = 0; i < writes.size(); i++) {
+                if (acknowledged && !failed.contains(i)) {
+                    confirm(writes.get(i));
+                }
+            }
+            logger.warn("Failed to flush view counts for {} of {} posts", failed.size(), writes.size());
+        } catch (RuntimeException e) {
+            // Outcome unknown; the same writes are retried with the same flush ids.
+            logger.warn("Failed to flush view counts for {} posts: {}", writes.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        for (Tally tally : flushing) {
+            if (tally.pending() > 0 && tallies.get(tally.blogId) != tally) {
+                // Evicted but still owes views.
+                retired.add(tally);
+            }
+        }
+    }
+
+    private static void confirm(Write write) {
+        if (write.tally().unconfirmed.remove(write)) {
+            write.tally().flushed += write.delta();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private long unflushed() {
+        long total = 0;
+        for (Tally tally : tallies.values()) {
+            total += tally.pending();
+        }
+        return total;
+    }
+
+    /**
+     * One {@code $inc} of {@code delta} views tagged with {@code flushId}.
+     */
+    private record Write(Tally tally, String flushId, long delta) {
+    }
+
+    private static final class Tally {
+        final String blogId;
+        final LongAdder views = new LongAdder();
+        // Written only by flush(), which is synchronized.
+        volatile long flushed;
+        int idleFlushes;
+        // Sent without a known outcome; retried unchanged.
+        final List<Write> unconfirmed = new ArrayList<>(1);
+
+        Tally(String blogId) {
+            this.blogId = blogId;
+        }
+
+        long pending() {
+            return views.sum() - flushed;
+        }
+
+        long inFlight() {
+            long total = 0;
+            for (Write write : unconfirmed) {
+                total += write.delta();
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. {@link #mightContain} never returns
+ * false for an added key; it returns true for an absent key with roughly the
+ * configured probability while the filter is within its expected size.
+ * Entries cannot be removed, so callers rebuild it to forget deleted keys.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        long wordCount = (bits + 63) >>> 6;
+        this.words = new AtomicLongArray(Math.toIntExact(wordCount));
+        this.bits = wordCount << 6;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Sizes the filter for {@code expectedInsertions} keys at false-positive
+     * rate {@code fpp}: {@code m = -n ln p / (ln 2)^2} bits and
+     * {@code k = (m / n) ln 2} hash functions.
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, m), k);
+    }
+
+    public void put(String key) {
+        long hash = Hashing.murmur64(key);
+        long h1 = hash;
+        long h2 = Long.rotateLeft(hash, 32) * 0x9E3779B97F4A7C15L | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = Hashing.murmur64(key);
+        long h1 = hash;
+        long h2 = Long.rotateLeft(hash, 32) * 0x9E3779B97F4A7C15L | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Current false-positive probability, {@code (set bits / m)^k}.
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / bits, hashes);
+    }
+
+    /**
+     * Estimated number of distinct keys added, {@code -m/k ln(1 - X/m)}.
+     */
+    public long approximateSize() {
+        long set = bitCount();
+        if (set >= bits) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-(double) bits / hashes * Math.log(1 - (double) set / bits));
+    }
+
+    public long memoryBytes() {
+        return bits / 8;
+    }
+
+    private long bitCount() {
+        long count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package com.blog.Blog_Backend.utility;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} calls. It opens
+ * when either the failure rate or the slow-call rate crosses its threshold,
+ * stays open for {@code openDuration}, then lets a single probe through; the
+ * probe's outcome decides between closing and another open period.
+ */
+public class CircuitBreaker {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final byte[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, Duration slowCallDuration, Duration openDuration) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.outcomes = new byte[windowSize];
+    }
+
+    /**
+     * @return true if the caller may attempt the call now; every permitted call
+     * must be followed by {@link #onResult}
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onResult(boolean success, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            if (success && !slow) {
+                reset(State.CLOSED);
+            } else {
+                open();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        record((byte) ((success ? 0 : 1) | (slow ? 2 : 0)));
+        if (recorded >= minimumCalls
+                && (failures >= failureRateThreshold * recorded || slowCalls >= slowCallRateThreshold * recorded)) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : (double) failures / recorded;
+    }
+
+    public synchronized double getSlowCallRate() {
+        return recorded == 0 ? 0 : (double) slowCalls / recorded;
+    }
+
+    private void record(byte outcome) {
+        if (recorded == windowSize) {
+            byte evicted = outcomes[position];
+            failures -= evicted & 1;
+            slowCalls -= (evicted >> 1) & 1;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = outcome;
+        failures += outcome & 1;
+        slowCalls += (outcome >> 1) & 1;
+        position = (position + 1) % windowSize;
+    }
+
+    private void open() {
+        reset(State.OPEN);
+        openedAt = System.nanoTime();
+    }
+
+    private void reset(State next) {
+        state = next;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        probeInFlight = false;
+    }
+}
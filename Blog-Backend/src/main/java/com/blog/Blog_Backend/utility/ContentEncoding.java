@@ -0,0 +1,106 @@
+package com.blog.Blog_Backend.utility;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+public enum ContentEncoding {
+    ZSTD("zstd") {
+        @Override
+        public byte[] compress(byte[] body) {
+            return Zstd.compress(body, 3);
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        public byte[] compress(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    },
+    IDENTITY("identity") {
+        @Override
+        public byte[] compress(byte[] body) {
+            return body;
+        }
+    };
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public abstract byte[] compress(byte[] body);
+
+    public static ContentEncoding fromToken(String token) {
+        String normalized = token.trim().toLowerCase(Locale.ROOT);
+        for (ContentEncoding encoding : values()) {
+            if (encoding.token.equals(normalized)) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content encoding: " + token);
+    }
+
+    /**
+     * Picks the encoding with the highest q-value in {@code acceptEncoding} among
+     * {@code offered}, using the order of {@code offered} to break ties. Falls back
+     * to identity when the header is missing or nothing offered is acceptable.
+     */
+    public static ContentEncoding negotiate(String acceptEncoding, List<ContentEncoding> offered) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        ContentEncoding best = IDENTITY;
+        double bestQ = 0;
+        for (ContentEncoding candidate : offered) {
+            double q = qualityOf(acceptEncoding, candidate.token);
+            if (q > bestQ) {
+                best = candidate;
+                bestQ = q;
+            }
+        }
+        return best;
+    }
+
+    private static double qualityOf(String acceptEncoding, String token) {
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] pieces = part.split(";");
+            String name = pieces[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < pieces.length; i++) {
+                String param = pieces[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equals(token)) {
+                return q;
+            }
+            if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return Math.max(wildcard, 0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size, lock-free frequency sketch. Estimates never undercount; they may
+ * overcount by roughly {@code total / width} with probability {@code 1 - 2^-depth}.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.mask = width - 1;
+        this.counters = new AtomicIntegerArray(depth * width);
+    }
+
+    /**
+     * Adds one occurrence of {@code key} and returns the updated estimate.
+     */
+    public int incrementAndEstimate(String key) {
+        return addAndEstimate(key, 1);
+    }
+
+    /**
+     * Adds {@code count} occurrences of {@code key} and returns the updated estimate.
+     */
+    public int addAndEstimate(String key, int count) {
+        long hash = Hashing.murmur64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & mask;
+            estimate = Math.min(estimate, counters.addAndGet(row * width + column, count));
+        }
+        return estimate;
+    }
+
+    public int estimate(String key) {
+        long hash = Hashing.murmur64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int column = (h1 + row * h2) & mask;
+            estimate = Math.min(estimate, counters.get(row * width + column));
+        }
+        return estimate;
+    }
+
+    public long memoryBytes() {
+        return (long) depth * width * Integer.BYTES;
+    }
+}
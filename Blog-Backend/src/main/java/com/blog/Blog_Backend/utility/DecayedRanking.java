@@ -0,0 +1,110 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.*;
+
+/**
+ * Keys ranked by an exponentially decaying score. Scores are stored in
+ * forward-decay form, scaled by {@code e^((t - landmark) / tau)} at the time
+ * they are added, so ageing never reorders existing entries and nothing has to
+ * be rescored as time passes. An update is O(log n) and reading the top K is
+ * O(K). The landmark moves forward before the scale factors get large.
+ */
+public class DecayedRanking {
+
+    // e^40 is ~2e17, far from overflow but large enough that rebasing is rare.
+    private static final double REBASE_EXPONENT = 40;
+
+    public record Ranked(String key, double score) {
+    }
+
+    private final double tauMillis;
+    private long landmark;
+    private final Map<String, Double> weights = new HashMap<>();
+    private final NavigableSet<Ranked> order = new TreeSet<>(
+            Comparator.comparingDouble(Ranked::score).reversed().thenComparing(Ranked::key));
+
+    public DecayedRanking(long halfLifeMillis, long now) {
+        this.tauMillis = halfLifeMillis / Math.log(2);
+        this.landmark = now;
+    }
+
+    /**
+     * Adds {@code amount} (as of {@code now}) to the score of {@code key}.
+     * Keys whose score drops to zero or below are removed.
+     */
+    public synchronized void add(String key, double amount, long now) {
+        if ((now - landmark) / tauMillis > REBASE_EXPONENT) {
+            rebase(now);
+        }
+        double previous = weights.getOrDefault(key, 0.0);
+        double updated = previous + amount * Math.exp((now - landmark) / tauMillis);
+        if (previous != 0.0) {
+            order.remove(new Ranked(key, previous));
+        }
+        if (updated <= 0) {
+            weights.remove(key);
+            return;
+        }
+        weights.put(key, updated);
+        order.add(new Ranked(key, updated));
+    }
+
+    public synchronized void remove(String key) {
+        Double previous = weights.remove(key);
+        if (previous != null) {
+            order.remove(new Ranked(key, previous));
+        }
+    }
+
+    /**
+     * The {@code k} highest-scoring keys with their scores decayed to {@code now}.
+     */
+    public synchronized List<Ranked> top(int k, long now) {
+        double decay = Math.exp(-(now - landmark) / tauMillis);
+        List<Ranked> top = new ArrayList<>(Math.min(k, order.size()));
+        for (Ranked ranked : order) {
+            if (top.size() == k) {
+                break;
+            }
+            top.add(new Ranked(ranked.key(), ranked.score() * decay));
+        }
+        return top;
+    }
+
+    /**
+     * Drops every key whose score, decayed to {@code now}, is below {@code minScore}.
+     *
+     * @return the number of keys dropped
+     */
+    public synchronized int prune(double minScore, long now) {
+        double threshold = minScore * Math.exp((now - landmark) / tauMillis);
+        int dropped = 0;
+        while (!order.isEmpty() && order.last().score() < threshold) {
+            weights.remove(order.pollLast().key());
+            dropped++;
+        }
+        return dropped;
+    }
+
+    /**
+     * Every key with its score decayed to {@code now}.
+     */
+    public synchronized Map<String, Double> snapshot(long now) {
+        double decay = Math.exp(-(now - landmark) / tauMillis);
+        Map<String, Double> snapshot = new HashMap<>(weights.size() * 2);
+        weights.forEach((key, weight) -> snapshot.put(key, weight * decay));
+        return snapshot;
+    }
+
+    public synchronized int size() {
+        return weights.size();
+    }
+
+    private void rebase(long now) {
+        double decay = Math.exp(-(now - landmark) / tauMillis);
+        order.clear();
+        weights.replaceAll((key, weight) -> weight * decay);
+        weights.forEach((key, weight) -> order.add(new Ranked(key, weight)));
+        landmark = now;
+    }
+}
@@ -0,0 +1,33 @@
+package com.blog.Blog_Backend.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for lists ordered by {@code (createdAt desc, _id desc)}:
+ * the position of the last item returned.
+ */
+public record FeedCursor(long createdAt, String id) {
+
+    public String encode() {
+        String raw = createdAt + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a missing cursor
+     * @throws IllegalArgumentException if {@code cursor} is malformed
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new FeedCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit driven by the ratio of long-term to recent
+ * latency. While recent samples stay near the long-term average the limit
+ * creeps upward by roughly {@code sqrt(limit)}; once latency climbs the
+ * gradient drops below one and the limit shrinks multiplicatively, so
+ * excess work is turned away instead of queueing. Failures back off hard.
+ */
+public class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_WINDOW = 600;
+    private static final double FAILURE_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot taken by {@link #tryAcquire()} and feeds the sample back.
+     *
+     * @param failed true for timeouts and server errors, which say nothing
+     *               useful about latency but do signal overload
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightAtStart = inFlight.getAndDecrement();
+        synchronized (this) {
+            double current = limit;
+            if (failed) {
+                limit = Math.max(minLimit, current * FAILURE_BACKOFF);
+                return;
+            }
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+                return;
+            }
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+            if (longRttNanos > 2 * rttNanos) {
+                // Latency recovered well below the average; let the baseline catch up quickly.
+                longRttNanos = 0.95 * longRttNanos;
+            }
+            // Only grow when the current limit is actually being exercised.
+            if (inFlightAtStart < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+            double target = current * gradient + Math.sqrt(current);
+            double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.blog.Blog_Backend.utility;
+
+import java.nio.charset.StandardCharsets;
+
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * 64-bit MurmurHash3 finalizer over the UTF-8 bytes of {@code value}. Fast,
+     * well mixed, and stable across JVMs, unlike {@link String#hashCode()}.
+     */
+    public static long murmur64(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h = 0x9E3779B97F4A7C15L ^ bytes.length;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long k = (bytes[i] & 0xFFL)
+                    | (bytes[i + 1] & 0xFFL) << 8
+                    | (bytes[i + 2] & 0xFFL) << 16
+                    | (bytes[i + 3] & 0xFFL) << 24
+                    | (bytes[i + 4] & 0xFFL) << 32
+                    | (bytes[i + 5] & 0xFFL) << 40
+                    | (bytes[i + 6] & 0xFFL) << 48
+                    | (bytes[i + 7] & 0xFFL) << 56;
+            h ^= mix(k);
+            h = Long.rotateLeft(h, 27) * 5 + 0x52DCE729;
+        }
+        long tail = 0;
+        for (int shift = 0; i < bytes.length; i++, shift += 8) {
+            tail |= (bytes[i] & 0xFFL) << shift;
+        }
+        h ^= mix(tail);
+        return fmix(h);
+    }
+
+    private static long mix(long k) {
+        k *= 0x87C37B91114253D5L;
+        k = Long.rotateLeft(k, 31);
+        return k * 0x4CF5AD432745937FL;
+    }
+
+    private static long fmix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,32 @@
+package com.blog.Blog_Backend.utility;
+
+public final class Html {
+
+    private Html() {
+    }
+
+    /**
+     * Appends {@code text[start, end)} to {@code out} with the five HTML
+     * metacharacters escaped, which makes it safe in element content and in
+     * quoted attribute values.
+     */
+    public static void escape(CharSequence text, int start, int end, StringBuilder out) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    public static String escape(String text) {
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        escape(text, 0, text.length(), out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog cardinality sketch with {@code 2^p} one-byte registers. At
+ * p = 12 a sketch is 4 KiB and estimates distinct counts with a relative
+ * standard error of {@code 1.04 / sqrt(4096)}, about 1.6%. Sketches with the
+ * same precision merge losslessly by taking the register-wise maximum, which
+ * is what lets every node keep its own copy.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static HyperLogLog fromBytes(byte[] registers) {
+        int precision = Integer.numberOfTrailingZeros(registers.length);
+        if (registers.length != 1 << precision) {
+            throw new IllegalArgumentException("register count must be a power of two");
+        }
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    /**
+     * @return true if a register changed, i.e. the sketch needs persisting
+     */
+    public synchronized boolean add(String value) {
+        long hash = Hashing.murmur64(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Guard bit keeps the rank finite when the remaining bits are all zero.
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of different precision");
+        }
+        byte[] theirs = other.toBytes();
+        for (int i = 0; i < registers.length; i++) {
+            if (theirs[i] > registers[i]) {
+                registers[i] = theirs[i];
+            }
+        }
+    }
+
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Small-range correction: linear counting is more accurate here.
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public synchronized byte[] toBytes() {
+        return Arrays.copyOf(registers, registers.length);
+    }
+}
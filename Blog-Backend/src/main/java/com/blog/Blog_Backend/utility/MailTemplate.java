@@ -0,0 +1,111 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * A template compiled into alternating literal and placeholder segments, with
+ * placeholders written as {@code {{name}}}. {@link #bind} folds known values
+ * into the literals and returns a smaller template, so values shared by many
+ * renders are escaped and copied once; {@link #renderTo} then fills whatever
+ * placeholders remain. Every substituted value passes through the escaper the
+ * template was compiled with, except {@code {{&name}}} placeholders, which take
+ * already-rendered fragments verbatim.
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final char RAW = '&';
+
+    // literals.length == names.length + 1; output is literals[0] names[0] literals[1] ...
+    private final String[] literals;
+    private final String[] names;
+    private final UnaryOperator<String> escaper;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] names, UnaryOperator<String> escaper) {
+        this.literals = literals;
+        this.names = names;
+        this.escaper = escaper;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MailTemplate compile(String source, UnaryOperator<String> escaper) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            names.add(name);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new MailTemplate(literals.toArray(String[]::new), names.toArray(String[]::new), escaper);
+    }
+
+    /**
+     * Substitutes the given values and returns a template containing only the
+     * placeholders that were not in {@code values}.
+     */
+    public MailTemplate bind(Map<String, String> values) {
+        List<String> boundLiterals = new ArrayList<>();
+        List<String> remaining = new ArrayList<>();
+        StringBuilder current = new StringBuilder(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = lookup(values, names[i]);
+            if (value != null) {
+                current.append(value).append(literals[i + 1]);
+            } else {
+                boundLiterals.add(current.toString());
+                remaining.add(names[i]);
+                current.setLength(0);
+                current.append(literals[i + 1]);
+            }
+        }
+        boundLiterals.add(current.toString());
+        return new MailTemplate(boundLiterals.toArray(String[]::new), remaining.toArray(String[]::new), escaper);
+    }
+
+    /**
+     * Appends the rendered template to {@code out}. Placeholders missing from
+     * {@code values} render as empty.
+     */
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        out.ensureCapacity(out.length() + literalLength + 64 * names.length);
+        out.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = lookup(values, names[i]);
+            if (value != null) {
+                out.append(value);
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    private String lookup(Map<String, String> values, String name) {
+        if (name.charAt(0) == RAW) {
+            return values.get(name.substring(1));
+        }
+        String value = values.get(name);
+        return value != null ? escaper.apply(value) : null;
+    }
+}
@@ -0,0 +1,719 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Markdown to HTML for post bodies, covering the GFM subset the editor offers:
+ * ATX headings, paragraphs, emphasis, strikethrough, code spans and fenced or
+ * indented code (highlighted via {@link SyntaxHighlighter}), links, images,
+ * bare URLs, block quotes, nested lists, tables and rules.
+ * <p>
+ * The output is safe by construction rather than by sanitizing afterwards:
+ * every character of the source is either escaped or consumed as Markdown
+ * syntax, so raw HTML in a post shows up as text, and link and image URLs are
+ * limited to http(s), mailto and relative targets.
+ * <p>
+ * Block quotes, lists and inline constructs nest at most {@link #MAX_NESTING}
+ * levels; anything deeper is rendered as escaped text. Closing delimiters are
+ * found with per-line lookups that are computed once, so the work is linear in
+ * the input at each nesting level.
+ */
+public final class Markdown {
+
+    private static final Pattern FENCE = Pattern.compile("^ {0,3}(`{3,}|~{3,})\\s*([^`\\s]*).*$");
+    private static final Pattern HEADING = Pattern.compile("^ {0,3}(#{1,6})(?:[ \\t]+(.*?))?(?:[ \\t]+#+)?[ \\t]*$");
+    private static final Pattern RULE = Pattern.compile("^ {0,3}([-*_])(?:[ \\t]*\\1){2,}[ \\t]*$");
+    private static final Pattern QUOTE = Pattern.compile("^ {0,3}> ?(.*)$");
+    private static final Pattern LIST_ITEM = Pattern.compile("^( {0,3})([-*+]|(\\d{1,9})[.)])([ \\t]+(.*)|[ \\t]*$)");
+    static final int MAX_NESTING = 16;
+
+    private static final Pattern TABLE_DELIMITER = Pattern.compile("^\\s*\\|?\\s*:?-+:?\\s*(\\|\\s*:?-+:?\\s*)*\\|?\\s*$");
+
+    private Markdown() {
+    }
+
+    public static String toHtml(String source) {
+        if (source == null || source.isEmpty()) {
+            return "";
+        }
+        String normalized = source.replace("\r\n", "\n").replace('\r', '\n').replace("\t", "    ");
+        StringBuilder out = new StringBuilder(normalized.length() + normalized.length() / 4);
+        blocks(List.of(normalized.split("\n", -1)), false, 0, out);
+        return out.toString();
+    }
+
+    private static void blocks(List<String> lines, boolean tight, int depth, StringBuilder out) {
+        boolean nests = depth < MAX_NESTING;
+        int i = 0;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                i++;
+                continue;
+            }
+
+            Matcher fence = FENCE.matcher(line);
+            if (fence.matches()) {
+                i = fencedCode(lines, i, fence.group(1), fence.group(2), out);
+                continue;
+            }
+            if (line.startsWith("    ")) {
+                i = indentedCode(lines, i, out);
+                continue;
+            }
+            Matcher heading = HEADING.matcher(line);
+            if (heading.matches()) {
+                int level = heading.group(1).length();
+                out.append("<h").append(level).append('>');
+                inline(heading.group(2) == null ? "" : heading.group(2), depth, out);
+                out.append("</h").append(level).append(">\n");
+                i++;
+                continue;
+            }
+            if (RULE.matcher(line).matches()) {
+                out.append("<hr>\n");
+                i++;
+                continue;
+            }
+            if (nests && QUOTE.matcher(line).matches()) {
+                i = blockQuote(lines, i, depth, out);
+                continue;
+            }
+            Matcher item = LIST_ITEM.matcher(line);
+            if (nests && item.matches()) {
+                i = list(lines, i, depth, out);
+                continue;
+            }
+            if (line.indexOf('|') >= 0 && i + 1 < lines.size() && TABLE_DELIMITER.matcher(lines.get(i + 1)).matches()) {
+                i = table(lines, i, depth, out);
+                continue;
+            }
+            i = paragraph(lines, i, tight, depth, out);
+        }
+    }
+
+    private static int fencedCode(List<String> lines, int start, String marker, String info, StringBuilder out) {
+        StringBuilder code = new StringBuilder();
+        int i = start + 1;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            String stripped = line.stripLeading();
+            if (stripped.startsWith(marker) && stripped.chars().allMatch(ch -> ch == marker.charAt(0) || ch == ' ')) {
+                i++;
+                break;
+            }
+            code.append(line).append('\n');
+            i++;
+        }
+        codeBlock(code.toString(), info.isEmpty() ? null : info.toLowerCase(Locale.ROOT), out);
+        return i;
+    }
+
+    private static int indentedCode(List<String> lines, int start, StringBuilder out) {
+        StringBuilder code = new StringBuilder();
+        int i = start;
+        int blankRun = 0;
+        while (i < lines.size() && (lines.get(i).startsWith("    ") || lines.get(i).isBlank())) {
+            if (lines.get(i).isBlank()) {
+                blankRun++;
+            } else {
+                code.append("\n".repeat(blankRun)).append(lines.get(i).substring(4)).append('\n');
+                blankRun = 0;
+            }
+            i++;
+        }
+        codeBlock(code.toString(), null, out);
+        return i - blankRun;
+    }
+
+    private static void codeBlock(String code, String language, StringBuilder out) {
+        out.append("<pre><code");
+        if (language != null) {
+            out.append(" class=\"language-");
+            Html.escape(language, 0, language.length(), out);
+            out.append('"');
+        }
+        out.append('>').append(SyntaxHighlighter.highlight(code, language)).append("</code></pre>\n");
+    }
+
+    private static int blockQuote(List<String> lines, int start, int depth, StringBuilder out) {
+        List<String> inner = new ArrayList<>();
+        int i = start;
+        while (i < lines.size()) {
+            Matcher quote = QUOTE.matcher(lines.get(i));
+            if (!quote.matches()) {
+                break;
+            }
+            inner.add(quote.group(1));
+            i++;
+        }
+        out.append("<blockquote>\n");
+        blocks(inner, false, depth + 1, out);
+        out.append("</blockquote>\n");
+        return i;
+    }
+
+    private static int list(List<String> lines, int start, int depth, StringBuilder out) {
+        Matcher first = LIST_ITEM.matcher(lines.get(start));
+        first.matches();
+        boolean ordered = first.group(3) != null;
+        char bullet = first.group(2).charAt(first.group(2).length() - 1);
+
+        List<List<String>> items = new ArrayList<>();
+        boolean loose = false;
+        boolean previousBlank = false;
+        int contentIndent = 0;
+        List<String> current = null;
+        int i = start;
+        while (i < lines.size()) {
+            String line = lines.get(i);
+            Matcher item = LIST_ITEM.matcher(line);
+            if (item.matches() && (item.group(3) != null) == ordered
+                    && item.group(2).charAt(item.group(2).length() - 1) == bullet
+                    && (current == null || indent(line) < contentIndent)) {
+                if (previousBlank && current != null) {
+                    loose = true;
+                }
+                current = new ArrayList<>();
+                items.add(current);
+                String content = item.group(5) == null ? "" : item.group(5);
+                current.add(content);
+                contentIndent = item.group(1).length() + item.group(2).length() + 1;
+                previousBlank = false;
+            } else if (line.isBlank()) {
+                current.add("");
+                previousBlank = true;
+            } else if (indent(line) >= contentIndent) {
+                if (previousBlank) {
+                    loose |= !startsBlock(line.substring(contentIndent));
+                }
+                current.add(line.substring(contentIndent));
+                previousBlank = false;
+            } else if (!previousBlank && !startsBlock(line)) {
+                // Lazy continuation of the item's paragraph.
+                current.add(line.stripLeading());
+            } else {
+                break;
+            }
+            i++;
+        }
+        // Trailing blank lines belong to whatever follows the list.
+        while (i > start && lines.get(i - 1).isBlank()) {
+            List<String> last = items.get(items.size() - 1);
+            if (!last.isEmpty() && last.get(last.size() - 1).isEmpty()) {
+                last.remove(last.size() - 1);
+            }
+            i--;
+        }
+
+        if (ordered) {
+            int number = Integer.parseInt(first.group(3));
+            out.append(number == 1 ? "<ol>\n" : "<ol start=\"" + number + "\">\n");
+        } else {
+            out.append("<ul>\n");
+        }
+        for (List<String> item : items) {
+            out.append("<li>");
+            blocks(item, !loose, depth + 1, out);
+            if (out.charAt(out.length() - 1) == '\n') {
+                out.setLength(out.length() - 1);
+            }
+            out.append("</li>\n");
+        }
+        out.append(ordered ? "</ol>\n" : "</ul>\n");
+        return i;
+    }
+
+    private static int table(List<String> lines, int start, int depth, StringBuilder out) {
+        List<String> header = cells(lines.get(start));
+        List<String> delimiters = cells(lines.get(start + 1));
+        String[] alignments = new String[header.size()];
+        for (int c = 0; c < alignments.length && c < delimiters.size(); c++) {
+            String delimiter = delimiters.get(c);
+            boolean left = delimiter.startsWith(":");
+            boolean right = delimiter.endsWith(":");
+            alignments[c] = left && right ? "center" : right ? "right" : left ? "left" : null;
+        }
+
+        out.append("<table>\n<thead>\n");
+        row(header, alignments, "th", depth, out);
+        out.append("</thead>\n");
+        int i = start + 2;
+        if (i < lines.size() && !lines.get(i).isBlank() && lines.get(i).indexOf('|') >= 0) {
+            out.append("<tbody>\n");
+            while (i < lines.size() && !lines.get(i).isBlank() && lines.get(i).indexOf('|') >= 0) {
+                row(cells(lines.get(i)), alignments, "td", depth, out);
+                i++;
+            }
+            out.append("</tbody>\n");
+        }
+        out.append("</table>\n");
+        return i;
+    }
+
+    private static void row(List<String> cells, String[] alignments, String tag, int depth, StringBuilder out) {
+        out.append("<tr>\n");
+        for (int c = 0; c < alignments.length; c++) {
+            out.append('<').append(tag);
+            if (alignments[c] != null) {
+                out.append(" align=\"").append(alignments[c]).append('"');
+            }
+            out.append('>');
+            inline(c < cells.size() ? cells.get(c) : "", depth, out);
+            out.append("</").append(tag).append(">\n");
+        }
+        out.append("</tr>\n");
+    }
+
+    private static List<String> cells(String line) {
+        String trimmed = line.trim();
+        if (trimmed.startsWith("|")) {
+            trimmed = trimmed.substring(1);
+        }
+        if (trimmed.endsWith("|") && !trimmed.endsWith("\\|")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '\\' && i + 1 < trimmed.length() && trimmed.charAt(i + 1) == '|') {
+                cell.append('|');
+                i++;
+            } else if (c == '|') {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().trim());
+        return cells;
+    }
+
+    private static int paragraph(List<String> lines, int start, boolean tight, int depth, StringBuilder out) {
+        StringBuilder text = new StringBuilder();
+        int i = start;
+        while (i < lines.size() && !lines.get(i).isBlank() && (i == start || !startsBlock(lines.get(i)))) {
+            if (i > start) {
+                text.append('\n');
+            }
+            text.append(lines.get(i).stripLeading());
+            i++;
+        }
+        String content = text.toString().stripTrailing();
+        if (!tight) {
+            out.append("<p>");
+        }
+        inline(content, depth, out);
+        out.append(tight ? "\n" : "</p>\n");
+        return i;
+    }
+
+    private static boolean startsBlock(String line) {
+        return FENCE.matcher(line).matches()
+                || HEADING.matcher(line).matches()
+                || RULE.matcher(line).matches()
+                || QUOTE.matcher(line).matches()
+                || LIST_ITEM.matcher(line).matches() && !LIST_ITEM.matcher(line).replaceFirst("$5").isBlank();
+    }
+
+    private static int indent(String line) {
+        int spaces = 0;
+        while (spaces < line.length() && line.charAt(spaces) == ' ') {
+            spaces++;
+        }
+        return spaces;
+    }
+
+    private static void inline(String text, int depth, StringBuilder out) {
+        if (depth >= MAX_NESTING) {
+            Html.escape(text, 0, text.length(), out);
+            return;
+        }
+        Scan scan = new Scan(text);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 < length && isAsciiPunctuation(text.charAt(i + 1))) {
+                        Html.escape(text, i + 1, i + 2, out);
+                        i += 2;
+                    } else if (i + 1 < length && text.charAt(i + 1) == '\n') {
+                        out.append("<br>\n");
+                        i += 2;
+                    } else {
+                        out.append('\\');
+                        i++;
+                    }
+                }
+                case '`' -> i = codeSpan(text, i, scan, out);
+                case '!' -> {
+                    int end = i + 1 < length && text.charAt(i + 1) == '[' ? linkOrImage(text, i + 1, true, scan, depth, out) : -1;
+                    if (end < 0) {
+                        out.append('!');
+                        i++;
+                    } else {
+                        i = end;
+                    }
+                }
+                case '[' -> {
+                    int end = linkOrImage(text, i, false, scan, depth, out);
+                    if (end < 0) {
+                        out.append('[');
+                        i++;
+                    } else {
+                        i = end;
+                    }
+                }
+                case '<' -> i = autolink(text, i, scan, out);
+                case '*', '_', '~' -> i = emphasis(text, i, scan, depth, out);
+                case '\n' -> {
+                    if (i >= 2 && text.charAt(i - 1) == ' ' && text.charAt(i - 2) == ' ') {
+                        while (out.length() > 0 && out.charAt(out.length() - 1) == ' ') {
+                            out.setLength(out.length() - 1);
+                        }
+                        out.append("<br>");
+                    }
+                    out.append('\n');
+                    i++;
+                }
+                case 'h' -> {
+                    int end = bareUrl(text, i, out);
+                    if (end < 0) {
+                        out.append('h');
+                        i++;
+                    } else {
+                        i = end;
+                    }
+                }
+                default -> {
+                    Html.escape(text, i, i + 1, out);
+                    i++;
+                }
+            }
+        }
+    }
+
+    private static int codeSpan(String text, int start, Scan scan, StringBuilder out) {
+        int run = 0;
+        while (start + run < text.length() && text.charAt(start + run) == '`') {
+            run++;
+        }
+        String delimiter = "`".repeat(run);
+        int search = start + run;
+        while (true) {
+            int close = scan.exhausted(delimiter, search) ? -1 : text.indexOf(delimiter, search);
+            if (close < 0) {
+                scan.markExhausted(delimiter, start + run);
+                out.append(delimiter);
+                return start + run;
+            }
+            int after = close + run;
+            if (after < text.length() && text.charAt(after) == '`') {
+                // A longer backtick run does not close this span.
+                while (after < text.length() && text.charAt(after) == '`') {
+                    after++;
+                }
+                search = after;
+                continue;
+            }
+            String code = text.substring(start + run, close).replace('\n', ' ');
+            if (code.length() > 2 && code.startsWith(" ") && code.endsWith(" ") && !code.isBlank()) {
+                code = code.substring(1, code.length() - 1);
+            }
+            out.append("<code>");
+            Html.escape(code, 0, code.length(), out);
+            out.append("</code>");
+            return after;
+        }
+    }
+
+    /**
+     * Parses {@code [text](url "title")} starting at the bracket.
+     *
+     * @return the index after the construct, or -1 if it is not a link
+     */
+    private static int linkOrImage(String text, int bracket, boolean image, Scan scan, int depth, StringBuilder out) {
+        int close = scan.closing(bracket);
+        if (close < 0 || close + 1 >= text.length() || text.charAt(close + 1) != '(') {
+            return -1;
+        }
+        int end = scan.closing(close + 1);
+        if (end < 0) {
+            return -1;
+        }
+        String target = text.substring(close + 2, end).trim();
+        String title = null;
+        int space = target.indexOf(' ');
+        if (space > 0) {
+            String rest = target.substring(space).trim();
+            if (rest.length() >= 2 && (rest.startsWith("\"") && rest.endsWith("\"")
+                    || rest.startsWith("'") && rest.endsWith("'"))) {
+                title = rest.substring(1, rest.length() - 1);
+            }
+            target = target.substring(0, space);
+        }
+        if (target.startsWith("<") && target.endsWith(">")) {
+            target = target.substring(1, target.length() - 1);
+        }
+        String label = text.substring(bracket + 1, close);
+        String url = safeUrl(target, image);
+        if (image) {
+            if (url == null) {
+                Html.escape(label, 0, label.length(), out);
+            } else {
+                out.append("<img src=\"");
+                Html.escape(url, 0, url.length(), out);
+                out.append("\" alt=\"");
+                Html.escape(label, 0, label.length(), out);
+                out.append('"');
+                appendTitle(title, out);
+                out.append(" loading=\"lazy\">");
+            }
+        } else if (url == null) {
+            inline(label, depth + 1, out);
+        } else {
+            openLink(url, title, out);
+            inline(label, depth + 1, out);
+            out.append("</a>");
+        }
+        return end + 1;
+    }
+
+    private static int autolink(String text, int start, Scan scan, StringBuilder out) {
+        int end = scan.nextAngleClose(start);
+        if (end > start) {
+            String target = text.substring(start + 1, end);
+            String url = target.indexOf(' ') < 0 && target.contains(":") ? safeUrl(target, false) : null;
+            if (url != null) {
+                openLink(url, null, out);
+                Html.escape(target, 0, target.length(), out);
+                out.append("</a>");
+                return end + 1;
+            }
+        }
+        out.append("&lt;");
+        return start + 1;
+    }
+
+    private static int bareUrl(String text, int start, StringBuilder out) {
+        if (!(text.startsWith("https://", start) || text.startsWith("http://", start))
+                || start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return -1;
+        }
+        int end = start;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '<') {
+            end++;
+        }
+        while (end > start && ".,:;!?)'\"*_~".indexOf(text.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        String url = text.substring(start, end);
+        openLink(url, null, out);
+        Html.escape(url, 0, url.length(), out);
+        out.append("</a>");
+        return end;
+    }
+
+    private static int emphasis(String text, int start, Scan scan, int depth, StringBuilder out) {
+        char marker = text.charAt(start);
+        int run = 0;
+        while (start + run < text.length() && text.charAt(start + run) == marker) {
+            run++;
+        }
+        int use = marker == '~' ? 2 : Math.min(run, 3);
+        boolean opens = run >= use
+                && start + run < text.length() && !Character.isWhitespace(text.charAt(start + run))
+                && (marker != '_' || start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)));
+        if (opens) {
+            String delimiter = String.valueOf(marker).repeat(use);
+            int close = scan.exhausted(delimiter, start + run) ? -1 : findCloser(text, start + run, delimiter, marker);
+            if (close < 0) {
+                scan.markExhausted(delimiter, start + run);
+            }
+            if (close >= 0) {
+                String inner = text.substring(start + use, close);
+                String[] tags = switch (marker == '~' ? 0 : use) {
+                    case 0 -> new String[]{"<del>", "</del>"};
+                    case 1 -> new String[]{"<em>", "</em>"};
+                    case 2 -> new String[]{"<strong>", "</strong>"};
+                    default -> new String[]{"<strong><em>", "</em></strong>"};
+                };
+                out.append(tags[0]);
+                inline(inner, depth + 1, out);
+                out.append(tags[1]);
+                return close + use;
+            }
+        }
+        out.append(String.valueOf(marker).repeat(run));
+        return start + run;
+    }
+
+    private static int findCloser(String text, int from, String delimiter, char marker) {
+        int i = from;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '`') {
+                int close = text.indexOf('`', i + 1);
+                i = close < 0 ? i + 1 : close + 1;
+                continue;
+            }
+            if (text.startsWith(delimiter, i) && !Character.isWhitespace(text.charAt(i - 1))) {
+                int after = i + delimiter.length();
+                boolean longerRun = after < text.length() && text.charAt(after) == marker
+                        && delimiter.length() < 3 && marker != '~';
+                boolean intraword = marker == '_' && after < text.length() && Character.isLetterOrDigit(text.charAt(after));
+                if (!longerRun && !intraword) {
+                    return i;
+                }
+                while (i < text.length() && text.charAt(i) == marker) {
+                    i++;
+                }
+                continue;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static void openLink(String url, String title, StringBuilder out) {
+        out.append("<a href=\"");
+        Html.escape(url, 0, url.length(), out);
+        out.append('"');
+        appendTitle(title, out);
+        out.append(" rel=\"nofollow noopener noreferrer\">");
+    }
+
+    private static void appendTitle(String title, StringBuilder out) {
+        if (title != null) {
+            out.append(" title=\"");
+            Html.escape(title, 0, title.length(), out);
+            out.append('"');
+        }
+    }
+
+    /**
+     * @return {@code url} if it is relative or uses an allowed scheme, else null
+     */
+    private static String safeUrl(String url, boolean image) {
+        if (url.isEmpty()) {
+            return null;
+        }
+        int colon = url.indexOf(':');
+        int firstDelimiter = firstIndexOf(url, "/?#");
+        if (colon < 0 || firstDelimiter >= 0 && firstDelimiter < colon) {
+            return url;
+        }
+        String scheme = url.substring(0, colon).toLowerCase(Locale.ROOT);
+        if (scheme.equals("http") || scheme.equals("https") || !image && scheme.equals("mailto")) {
+            return url;
+        }
+        return null;
+    }
+
+    private static int firstIndexOf(String value, String characters) {
+        for (int i = 0; i < value.length(); i++) {
+            if (characters.indexOf(value.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isAsciiPunctuation(char c) {
+        return c < 128 && "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~".indexOf(c) >= 0;
+    }
+
+    /**
+     * Lookups shared by one pass of {@link #inline} over a piece of text. Each
+     * is computed once, so a line full of unclosed brackets or delimiters costs
+     * a single scan instead of one scan per opener.
+     */
+    private static final class Scan {
+
+        private final String text;
+        private final Map<String, Integer> exhaustedFrom = new HashMap<>();
+        private int[] closing;
+        private int angleSearchedFrom = Integer.MAX_VALUE;
+        private int angleClose = -1;
+
+        Scan(String text) {
+            this.text = text;
+        }
+
+        /**
+         * @return the index of the {@code ]} or {@code )} matching the bracket
+         * or parenthesis at {@code open}, or -1 if it is never closed
+         */
+        int closing(int open) {
+            if (closing == null) {
+                closing = matchPairs(text);
+            }
+            return closing[open];
+        }
+
+        /**
+         * Whether an earlier search already found no {@code delimiter} at or
+         * after some position not later than {@code from}.
+         */
+        boolean exhausted(String delimiter, int from) {
+            Integer exhausted = exhaustedFrom.get(delimiter);
+            return exhausted != null && exhausted <= from;
+        }
+
+        void markExhausted(String delimiter, int from) {
+            exhaustedFrom.merge(delimiter, from, Math::min);
+        }
+
+        int nextAngleClose(int from) {
+            if (from < angleSearchedFrom || angleClose >= 0 && angleClose < from) {
+                angleSearchedFrom = from;
+                angleClose = text.indexOf('>', from);
+            }
+            return angleClose;
+        }
+
+        private static int[] matchPairs(String text) {
+            int[] closing = new int[text.length()];
+            Arrays.fill(closing, -1);
+            Deque<Integer> brackets = new ArrayDeque<>();
+            Deque<Integer> parens = new ArrayDeque<>();
+            for (int i = 0; i < text.length(); i++) {
+                switch (text.charAt(i)) {
+                    case '\\' -> i++;
+                    case '[' -> brackets.push(i);
+                    case '(' -> parens.push(i);
+                    case ']' -> {
+                        if (!brackets.isEmpty()) {
+                            closing[brackets.pop()] = i;
+                        }
+                    }
+                    case ')' -> {
+                        if (!parens.isEmpty()) {
+                            closing[parens.pop()] = i;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return closing;
+        }
+    }
+}
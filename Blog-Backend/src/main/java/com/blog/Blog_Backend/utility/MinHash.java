@@ -0,0 +1,85 @@
+package com.blog.Blog_Backend.utility;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * MinHash signatures with LSH banding. The fraction of positions on which two
+ * signatures agree estimates the Jaccard similarity of the shingle sets, and
+ * two sets share at least one band key with probability
+ * {@code 1 - (1 - s^rows)^bands}, a step that sits near
+ * {@code (1 / bands)^(1 / rows)}. The per-position hash functions are derived
+ * from one 64-bit hash per shingle as {@code h1 + i * h2}.
+ */
+public class MinHash {
+
+    private final int bands;
+    private final int rows;
+
+    public MinHash(int bands, int rows) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    public int size() {
+        return bands * rows;
+    }
+
+    public int[] signature(Collection<String> shingles) {
+        int[] signature = new int[size()];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = Hashing.murmur64(shingle);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < signature.length; i++) {
+                int value = h1 + i * h2;
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * One key per band; signatures that agree on a whole band share its key.
+     */
+    public long[] bandKeys(int[] signature) {
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = 0x9E3779B97F4A7C15L * (band + 1);
+            for (int row = 0; row < rows; row++) {
+                key = (key ^ signature[band * rows + row]) * 0x100000001B3L;
+            }
+            keys[band] = key ^ (key >>> 29);
+        }
+        return keys;
+    }
+
+    public static double similarity(int[] left, int[] right) {
+        int same = 0;
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] == right[i]) {
+                same++;
+            }
+        }
+        return (double) same / left.length;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -19,6 +20,10 @@ public class SecurityUtils {
             return ud.getUsername();
         }
 
+        if (principal instanceof Jwt jwt) {
+            return jwt.getSubject();
+        }
+
         if (principal instanceof OAuth2User oAuth2User) {
             Object email = oAuth2User.getAttribute("email");
             if (email == null) {
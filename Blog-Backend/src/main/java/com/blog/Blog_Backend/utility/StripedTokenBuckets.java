@@ -0,0 +1,175 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets keyed by an arbitrary string, spread over independently locked
+ * stripes so unrelated keys never contend. Each stripe holds a bounded LRU map.
+ * A key pushed out of it while its bucket is not full leaves the tokens it
+ * still owes in a windowed count-min sketch, and is marked in a Bloom filter of
+ * evicted keys. When such a key comes back, its bucket starts that much short,
+ * so a client cannot reset its budget simply by cycling through enough other
+ * keys. Keys that were never evicted always start with a full bucket.
+ */
+public class StripedTokenBuckets {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int MIN_SKETCH_WIDTH = 1 << 10;
+    private static final int MAX_SKETCH_WIDTH = 1 << 16;
+    private static final double EVICTED_FPP = 0.01;
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final long windowNanos;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int sketchWidth;
+    private final int expectedEvictions;
+
+    private volatile SketchWindow sketch;
+    private volatile SketchWindow previousSketch;
+
+    public StripedTokenBuckets(int capacity, long refillPeriod, TimeUnit unit, int maxKeys, int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        this.capacity = capacity;
+        this.windowNanos = unit.toNanos(refillPeriod);
+        this.tokensPerNano = (double) capacity / windowNanos;
+        this.stripes = new Stripe[stripeCount];
+        // Debt is overestimated by about (total evicted debt) / width, and only
+        // for keys the evicted filter reports, so width scales with maxKeys.
+        this.expectedEvictions = Math.max(1024, maxKeys);
+        this.sketchWidth = Math.max(MIN_SKETCH_WIDTH,
+                Math.min(MAX_SKETCH_WIDTH, Integer.highestOneBit(Math.max(1, maxKeys) - 1) << 1));
+        int perStripe = Math.max(16, maxKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.sketch = new SketchWindow(System.nanoTime(), sketchWidth, expectedEvictions);
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 when allowed, otherwise the number of nanoseconds until a token
+     * becomes available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        long hash = Hashing.murmur64(key);
+        Stripe stripe = stripes[(int) (hash ^ (hash >>> 32)) & stripeMask];
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                currentSketch(now);
+                bucket = new Bucket(capacity - Math.min(capacity, owed(key)), now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryTake(now, capacity, tokensPerNano);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Tokens an evicted key still owed, taken from this and the previous
+     * window; debt recorded in the previous window has not necessarily been
+     * refilled yet.
+     */
+    private int owed(String key) {
+        int owed = 0;
+        for (SketchWindow window : new SketchWindow[]{sketch, previousSketch}) {
+            if (window != null && window.evicted.mightContain(key)) {
+                owed = Math.max(owed, window.debt.estimate(key));
+            }
+        }
+        return owed;
+    }
+
+    private void evicted(String key, Bucket bucket) {
+        long now = System.nanoTime();
+        double tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) * tokensPerNano);
+        int debt = (int) Math.ceil(capacity - tokens);
+        if (debt > 0) {
+            SketchWindow window = currentSketch(now);
+            window.evicted.put(key);
+            window.debt.addAndEstimate(key, debt);
+        }
+    }
+
+    private SketchWindow currentSketch(long now) {
+        SketchWindow window = sketch;
+        if (now - window.startedAt >= windowNanos) {
+            synchronized (this) {
+                window = sketch;
+                if (now - window.startedAt >= windowNanos) {
+                    previousSketch = window;
+                    window = new SketchWindow(now, sketchWidth, expectedEvictions);
+                    sketch = window;
+                }
+            }
+        }
+        return window;
+    }
+
+    private final class Stripe {
+        final Map<String, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    if (size() <= maxKeys) {
+                        return false;
+                    }
+                    evicted(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefill;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        long tryTake(long now, int capacity, double tokensPerNano) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    private static final class SketchWindow {
+        final long startedAt;
+        final BloomFilter evicted;
+        final CountMinSketch debt;
+
+        SketchWindow(long startedAt, int width, int expectedEvictions) {
+            this.startedAt = startedAt;
+            this.evicted = BloomFilter.create(expectedEvictions, EVICTED_FPP);
+            this.debt = new CountMinSketch(SKETCH_DEPTH, width);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.blog.Blog_Backend.utility;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass lexer that turns source code into escaped HTML with Prism-style
+ * {@code <span class="token ...">} markup, so existing Prism themes colour it.
+ * It recognises comments, strings, numbers, keywords, literals, function calls
+ * and capitalised type names for a handful of language families; anything it
+ * does not know is emitted as plain escaped text, never as markup.
+ */
+public final class SyntaxHighlighter {
+
+    private record Grammar(Set<String> keywords,
+                           Set<String> literals,
+                           String[] lineComments,
+                           String blockOpen,
+                           String blockClose,
+                           String quotes,
+                           boolean tripleQuotes,
+                           boolean caseInsensitive,
+                           boolean typeNames) {
+    }
+
+    private static final Set<String> JS_KEYWORDS = Set.of(
+            "async", "await", "break", "case", "catch", "class", "const", "continue", "debugger", "default",
+            "delete", "do", "else", "export", "extends", "finally", "for", "from", "function", "if", "import",
+            "in", "instanceof", "interface", "let", "new", "of", "return", "static", "super", "switch", "this",
+            "throw", "try", "type", "typeof", "var", "void", "while", "with", "yield", "enum", "implements",
+            "private", "protected", "public", "readonly", "as");
+    private static final Set<String> JAVA_KEYWORDS = Set.of(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "continue",
+            "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "if",
+            "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package",
+            "private", "protected", "public", "record", "return", "short", "static", "super", "switch",
+            "synchronized", "this", "throw", "throws", "transient", "try", "var", "void", "volatile", "while",
+            "yield", "sealed", "permits", "fun", "val", "when", "object", "override", "data", "suspend");
+    private static final Set<String> C_KEYWORDS = Set.of(
+            "auto", "bool", "break", "case", "catch", "char", "class", "const", "constexpr", "continue",
+            "default", "delete", "do", "double", "else", "enum", "explicit", "extern", "float", "for", "friend",
+            "goto", "if", "inline", "int", "long", "namespace", "new", "operator", "private", "protected",
+            "public", "register", "return", "short", "signed", "sizeof", "static", "struct", "switch", "template",
+            "this", "throw", "try", "typedef", "typename", "union", "unsigned", "using", "virtual", "void",
+            "volatile", "while", "include", "define", "base", "foreach", "in", "is", "out", "ref", "readonly",
+            "sealed", "string", "var", "async", "await", "override", "abstract");
+    private static final Set<String> GO_KEYWORDS = Set.of(
+            "break", "case", "chan", "const", "continue", "default", "defer", "else", "fallthrough", "for",
+            "func", "go", "goto", "if", "import", "interface", "map", "package", "range", "return", "select",
+            "struct", "switch", "type", "var");
+    private static final Set<String> RUST_KEYWORDS = Set.of(
+            "as", "async", "await", "break", "const", "continue", "crate", "dyn", "else", "enum", "extern", "fn",
+            "for", "if", "impl", "in", "let", "loop", "match", "mod", "move", "mut", "pub", "ref", "return",
+            "self", "Self", "static", "struct", "super", "trait", "type", "unsafe", "use", "where", "while");
+    private static final Set<String> PYTHON_KEYWORDS = Set.of(
+            "and", "as", "assert", "async", "await", "break", "class", "continue", "def", "del", "elif", "else",
+            "except", "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "nonlocal", "not",
+            "or", "pass", "raise", "return", "try", "while", "with", "yield", "self");
+    private static final Set<String> RUBY_KEYWORDS = Set.of(
+            "alias", "and", "begin", "break", "case", "class", "def", "do", "else", "elsif", "end", "ensure",
+            "for", "if", "in", "module", "next", "not", "or", "redo", "rescue", "retry", "return", "self", "super",
+            "then", "unless", "until", "when", "while", "yield", "require", "attr_accessor");
+    private static final Set<String> PHP_KEYWORDS = Set.of(
+            "abstract", "as", "break", "case", "catch", "class", "const", "continue", "default", "do", "echo",
+            "else", "elseif", "extends", "final", "finally", "fn", "for", "foreach", "function", "if",
+            "implements", "include", "interface", "namespace", "new", "private", "protected", "public",
+            "require", "return", "static", "switch", "throw", "trait", "try", "use", "while");
+    private static final Set<String> SHELL_KEYWORDS = Set.of(
+            "case", "do", "done", "elif", "else", "esac", "export", "fi", "for", "function", "if", "in", "local",
+            "return", "then", "until", "while", "echo", "cd", "sudo");
+    private static final Set<String> SQL_KEYWORDS = Set.of(
+            "add", "all", "alter", "and", "as", "asc", "between", "by", "case", "create", "delete", "desc",
+            "distinct", "drop", "else", "end", "exists", "from", "group", "having", "in", "index", "inner",
+            "insert", "into", "is", "join", "key", "left", "like", "limit", "not", "on", "or", "order", "outer",
+            "primary", "right", "select", "set", "table", "then", "union", "update", "values", "when", "where",
+            "with", "count", "sum", "avg", "min", "max");
+
+    private static final Set<String> C_LITERALS = Set.of("true", "false", "null", "undefined", "nil", "NULL", "nullptr");
+    private static final Set<String> PY_LITERALS = Set.of("True", "False", "None");
+    private static final Set<String> SQL_LITERALS = Set.of("null", "true", "false");
+
+    private static final Grammar JS = new Grammar(JS_KEYWORDS, C_LITERALS, new String[]{"//"}, "/*", "*/", "'\"`", false, false, true);
+    private static final Grammar JAVA = new Grammar(JAVA_KEYWORDS, C_LITERALS, new String[]{"//"}, "/*", "*/", "'\"", false, false, true);
+    private static final Grammar C = new Grammar(C_KEYWORDS, C_LITERALS, new String[]{"//"}, "/*", "*/", "'\"", false, false, true);
+    private static final Grammar GO = new Grammar(GO_KEYWORDS, C_LITERALS, new String[]{"//"}, "/*", "*/", "'\"`", false, false, true);
+    private static final Grammar RUST = new Grammar(RUST_KEYWORDS, C_LITERALS, new String[]{"//"}, "/*", "*/", "\"", false, false, true);
+    private static final Grammar PYTHON = new Grammar(PYTHON_KEYWORDS, PY_LITERALS, new String[]{"#"}, null, null, "'\"", true, false, true);
+    private static final Grammar RUBY = new Grammar(RUBY_KEYWORDS, C_LITERALS, new String[]{"#"}, null, null, "'\"", false, false, true);
+    private static final Grammar PHP = new Grammar(PHP_KEYWORDS, C_LITERALS, new String[]{"//", "#"}, "/*", "*/", "'\"", false, true, true);
+    private static final Grammar SHELL = new Grammar(SHELL_KEYWORDS, Set.of(), new String[]{"#"}, null, null, "'\"", false, false, false);
+    private static final Grammar SQL = new Grammar(SQL_KEYWORDS, SQL_LITERALS, new String[]{"--"}, "/*", "*/", "'\"", false, true, false);
+    private static final Grammar JSON = new Grammar(Set.of(), Set.of("true", "false", "null"), new String[0], null, null, "\"", false, false, false);
+
+    private static final Map<String, Grammar> GRAMMARS = Map.ofEntries(
+            Map.entry("javascript", JS), Map.entry("js", JS), Map.entry("jsx", JS),
+            Map.entry("typescript", JS), Map.entry("ts", JS), Map.entry("tsx", JS),
+            Map.entry("java", JAVA), Map.entry("kotlin", JAVA), Map.entry("kt", JAVA), Map.entry("scala", JAVA),
+            Map.entry("c", C), Map.entry("cpp", C), Map.entry("c++", C), Map.entry("csharp", C), Map.entry("cs", C),
+            Map.entry("c#", C), Map.entry("swift", C), Map.entry("dart", C),
+            Map.entry("go", GO), Map.entry("golang", GO),
+            Map.entry("rust", RUST), Map.entry("rs", RUST),
+            Map.entry("python", PYTHON), Map.entry("py", PYTHON),
+            Map.entry("ruby", RUBY), Map.entry("rb", RUBY),
+            Map.entry("php", PHP),
+            Map.entry("bash", SHELL), Map.entry("shell", SHELL), Map.entry("sh", SHELL), Map.entry("zsh", SHELL),
+            Map.entry("sql", SQL), Map.entry("mysql", SQL), Map.entry("postgresql", SQL),
+            Map.entry("json", JSON));
+
+    private static final String OPERATOR_CHARS = "+-*/%=&|<>!^~?:";
+    private static final String PUNCTUATION_CHARS = "{}[]();,.";
+
+    private SyntaxHighlighter() {
+    }
+
+    public static boolean supports(String language) {
+        return language != null && GRAMMARS.containsKey(language.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return {@code code} as escaped HTML, with token spans if the language is known
+     */
+    public static String highlight(String code, String language) {
+        StringBuilder out = new StringBuilder(code.length() * 2);
+        Grammar grammar = language == null ? null : GRAMMARS.get(language.toLowerCase(Locale.ROOT));
+        if (grammar == null) {
+            Html.escape(code, 0, code.length(), out);
+        } else {
+            lex(code, grammar, out);
+        }
+        return out.toString();
+    }
+
+    private static void lex(String code, Grammar grammar, StringBuilder out) {
+        int length = code.length();
+        int i = 0;
+        while (i < length) {
+            char c = code.charAt(i);
+
+            String lineComment = startsWithAny(code, i, grammar.lineComments());
+            if (lineComment != null) {
+                int end = code.indexOf('\n', i);
+                i = token("comment", code, i, end < 0 ? length : end, out);
+                continue;
+            }
+            if (grammar.blockOpen() != null && code.startsWith(grammar.blockOpen(), i)) {
+                int end = code.indexOf(grammar.blockClose(), i + grammar.blockOpen().length());
+                i = token("comment", code, i, end < 0 ? length : end + grammar.blockClose().length(), out);
+                continue;
+            }
+            if (grammar.quotes().indexOf(c) >= 0) {
+                i = token("string", code, i, stringEnd(code, i, grammar), out);
+                continue;
+            }
+            if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(code.charAt(i + 1)))) {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(code.charAt(end)) || code.charAt(end) == '.'
+                        || code.charAt(end) == '_')) {
+                    end++;
+                }
+                i = token("number", code, i, end, out);
+                continue;
+            }
+            if (Character.isLetter(c) || c == '_' || c == '$' || c == '@') {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(code.charAt(end)) || code.charAt(end) == '_'
+                        || code.charAt(end) == '$')) {
+                    end++;
+                }
+                String word = code.substring(i, end);
+                String lookup = grammar.caseInsensitive() ? word.toLowerCase(Locale.ROOT) : word;
+                String type;
+                if (grammar.keywords().contains(lookup)) {
+                    type = "keyword";
+                } else if (grammar.literals().contains(lookup)) {
+                    type = "boolean";
+                } else if (nextNonSpace(code, end) == '(') {
+                    type = "function";
+                } else if (grammar.typeNames() && Character.isUpperCase(c)) {
+                    type = "class-name";
+                } else {
+                    type = null;
+                }
+                i = type == null ? plain(code, i, end, out) : token(type, code, i, end, out);
+                continue;
+            }
+            if (OPERATOR_CHARS.indexOf(c) >= 0) {
+                int end = i + 1;
+                while (end < length && OPERATOR_CHARS.indexOf(code.charAt(end)) >= 0) {
+                    end++;
+                }
+                i = token("operator", code, i, end, out);
+                continue;
+            }
+            if (PUNCTUATION_CHARS.indexOf(c) >= 0) {
+                i = token("punctuation", code, i, i + 1, out);
+                continue;
+            }
+            i = plain(code, i, i + 1, out);
+        }
+    }
+
+    private static int stringEnd(String code, int start, Grammar grammar) {
+        char quote = code.charAt(start);
+        if (grammar.tripleQuotes() && code.startsWith(String.valueOf(quote).repeat(3), start)) {
+            String delimiter = String.valueOf(quote).repeat(3);
+            int end = code.indexOf(delimiter, start + 3);
+            return end < 0 ? code.length() : end + 3;
+        }
+        int i = start + 1;
+        while (i < code.length()) {
+            char c = code.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else if (c == '\n' && quote != '`') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return code.length();
+    }
+
+    private static String startsWithAny(String code, int position, String[] prefixes) {
+        for (String prefix : prefixes) {
+            if (code.startsWith(prefix, position)) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    private static char nextNonSpace(String code, int position) {
+        while (position < code.length() && code.charAt(position) == ' ') {
+            position++;
+        }
+        return position < code.length() ? code.charAt(position) : 0;
+    }
+
+    private static int token(String type, String code, int start, int end, StringBuilder out) {
+        out.append("<span class=\"token ").append(type).append("\">");
+        Html.escape(code, start, end, out);
+        out.append("</span>");
+        return end;
+    }
+
+    private static int plain(String code, int start, int end, StringBuilder out) {
+        Html.escape(code, start, end, out);
+        return end;
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.controller;
+
+import com.blog.Blog_Backend.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AuthControllerTest {
+
+    private final TokenService tokenService = mock(TokenService.class);
+    private final AuthController controller = new AuthController();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "tokenService", tokenService);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bearerTokenCannotMintATokenPair() {
+        Jwt jwt = Jwt.withTokenValue("access")
+                .header("alg", "HS256")
+                .subject("alice@example.com")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(900))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+        ResponseEntity<TokenService.TokenPair> response = controller.issueToken();
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void passwordLoginGetsATokenPair() {
+        User user = new User("alice@example.com", "", AuthorityUtils.createAuthorityList("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        TokenService.TokenPair pair = new TokenService.TokenPair("access", "refresh", 900);
+        when(tokenService.issue("alice@example.com")).thenReturn(pair);
+
+        ResponseEntity<TokenService.TokenPair> response = controller.issueToken();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(tokenService).issue("alice@example.com");
+    }
+}
@@ -0,0 +1,111 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.dto.DraftPatch;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DraftServiceTest {
+
+    private final DraftService drafts = new DraftService(null, null, null, 200, 40, 50);
+
+    @Test
+    void splicesTextInPlace() {
+        Map<String, Object> values = values("Hello world");
+        assertEquals("content", drafts.apply(splice("/content", 6, 5, "drafts"), values));
+        assertEquals("Hello drafts", values.get("content"));
+
+        drafts.apply(splice("/content", 12, 0, "!"), values);
+        drafts.apply(splice("/content", 0, 6, null), values);
+        assertEquals("drafts!", values.get("content"));
+    }
+
+    @Test
+    void splicesIntoAMissingField() {
+        Map<String, Object> values = values(null);
+        drafts.apply(splice("/codeSnippet", 0, 0, "int x;"), values);
+        assertEquals("int x;", values.get("codeSnippet"));
+    }
+
+    @Test
+    void rejectsOutOfRangeSplices() {
+        assertBadRequest(splice("/content", -1, 0, "x"));
+        assertBadRequest(splice("/content", 6, 0, "x"));
+        assertBadRequest(splice("/content", 3, 3, "x"));
+        assertBadRequest(splice("/content", 0, -1, "x"));
+        assertBadRequest(splice("/content", null, 0, "x"));
+        assertBadRequest(splice("/content", 0, Integer.MAX_VALUE, "x"));
+    }
+
+    @Test
+    void offsetsCountUtf16CodeUnits() {
+        // The emoji is two code units, as in JavaScript: "a" is 0, the emoji 1-2, "b" 3.
+        Map<String, Object> values = values("a😀b");
+        drafts.apply(splice("/content", 3, 1, "c"), values);
+        assertEquals("a😀c", values.get("content"));
+
+        // A client diff can split a surrogate pair; applied in order the text stays valid.
+        drafts.apply(splice("/content", 2, 1, "\uDE01"), values);
+        assertEquals("a😁c", values.get("content"));
+        assertEquals(3, ((String) values.get("content")).codePointCount(0, 4));
+    }
+
+    @Test
+    void replacesFields() {
+        Map<String, Object> values = values("Hello");
+        drafts.apply(new DraftPatch.Op("replace", "/codeLanguage", JsonNodeFactory.instance.textNode("java"),
+                null, null, null), values);
+        assertEquals("java", values.get("codeLanguage"));
+
+        drafts.apply(new DraftPatch.Op("replace", "/tags", JsonNodeFactory.instance.textNode("Java, Spring Boot"),
+                null, null, null), values);
+        assertEquals(List.of("java", "spring-boot"), values.get("tags"));
+
+        drafts.apply(new DraftPatch.Op("replace", "/content", JsonNodeFactory.instance.nullNode(),
+                null, null, null), values);
+        assertNull(values.get("content"));
+    }
+
+    @Test
+    void rejectsUnknownPathsAndOps() {
+        assertBadRequest(splice("/authorEmail", 0, 0, "x"));
+        assertBadRequest(splice("content", 0, 0, "x"));
+        assertBadRequest(splice("/codeLanguage", 0, 0, "x"));
+        assertBadRequest(new DraftPatch.Op("move", "/content", null, null, null, null));
+        assertBadRequest(new DraftPatch.Op("replace", "/title", JsonNodeFactory.instance.numberNode(1),
+                null, null, null));
+    }
+
+    @Test
+    void rejectsTextOverTheLimit() {
+        assertBadRequest(splice("/content", 5, 0, "x".repeat(36)));
+    }
+
+    private void assertBadRequest(DraftPatch.Op op) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> drafts.apply(op, values("Hello")));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private static DraftPatch.Op splice(String path, Integer offset, Integer delete, String insert) {
+        return new DraftPatch.Op("splice", path, null, offset, delete, insert);
+    }
+
+    private static Map<String, Object> values(String content) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("title", "Title");
+        values.put("content", content);
+        values.put("codeSnippet", null);
+        values.put("codeLanguage", null);
+        values.put("tags", List.of());
+        return values;
+    }
+}
@@ -0,0 +1,168 @@
+package com.blog.Blog_Backend.service;
+
+import com.blog.Blog_Backend.dto.PostPage;
+import com.blog.Blog_Backend.entity.BlogPost;
+import com.blog.Blog_Backend.service.FollowingFeedService.PostRef;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FollowingFeedServiceTest {
+
+    private static final Comparator<PostRef> NEWEST_FIRST =
+            Comparator.comparingLong(PostRef::createdAt).thenComparing(PostRef::id).reversed();
+
+    @Test
+    void pagesAcrossTheCachedRecentPosts() {
+        Map<String, List<PostRef>> posts = new HashMap<>();
+        posts.put("a", refs("a", 1000, 10, 10));
+        posts.put("b", refs("b", 1005, 10, 10));
+        InMemoryFeed feed = feed(3, posts);
+
+        assertEquals(expected(posts), readAll(feed, 4));
+        assertEquals(expected(posts), readAll(feed, 7));
+    }
+
+    @Test
+    void reachesPostsWithoutACreatedAt() {
+        Map<String, List<PostRef>> posts = new HashMap<>();
+        List<PostRef> a = new ArrayList<>(refs("a", 1000, 10, 5));
+        a.add(new PostRef("a-undated-1", 0));
+        a.add(new PostRef("a-undated-2", 0));
+        a.add(new PostRef("a-undated-3", 0));
+        posts.put("a", a);
+        posts.put("b", refs("b", 1005, 10, 4));
+        InMemoryFeed feed = feed(3, posts);
+
+        List<String> read = readAll(feed, 2);
+        assertEquals(expected(posts), read);
+        assertEquals(List.of("a-undated-3", "a-undated-2", "a-undated-1"), read.subList(read.size() - 3, read.size()));
+    }
+
+    @Test
+    void refillsEveryAuthorPastTheCacheInOneQuery() {
+        Map<String, List<PostRef>> posts = new HashMap<>();
+        posts.put("a", refs("a", 1000, 10, 6));
+        posts.put("b", refs("b", 1003, 10, 6));
+        posts.put("c", refs("c", 1006, 10, 6));
+        InMemoryFeed feed = feed(2, posts);
+
+        PostPage first = feed.page("reader", null, 6);
+        assertEquals(6, first.posts().size());
+        feed.calls.clear();
+
+        PostPage second = feed.page("reader", first.nextCursor(), 6);
+        assertEquals(6, second.posts().size());
+        assertEquals(1, feed.calls.size());
+        assertEquals(Set.of("a", "b", "c"), feed.calls.get(0));
+    }
+
+    @Test
+    void stopsWhenEveryStreamIsExhausted() {
+        Map<String, List<PostRef>> posts = new HashMap<>();
+        posts.put("a", refs("a", 1000, 10, 2));
+        InMemoryFeed feed = feed(3, posts);
+
+        PostPage page = feed.page("reader", null, 2);
+        assertEquals(2, page.posts().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        InMemoryFeed feed = feed(3, Map.of("a", refs("a", 1000, 10, 2)));
+        assertThrows(ResponseStatusException.class, () -> feed.page("reader", "not a cursor", 2));
+    }
+
+    @Test
+    void keysetMatchesUndatedPosts() {
+        Document dated = BlogPostService.olderThan(1000, "b").getCriteriaObject();
+        List<?> branches = dated.getList("$or", Object.class);
+        assertEquals(3, branches.size());
+        assertEquals(new Document("createdAt", null), branches.get(2));
+
+        Document undated = BlogPostService.olderThan(0, "b").getCriteriaObject();
+        assertEquals(new Document("createdAt", null).append("_id", new Document("$lt", "b")), undated);
+    }
+
+    private static InMemoryFeed feed(int recentPerAuthor, Map<String, List<PostRef>> posts) {
+        SubscriptionService subscriptions = mock(SubscriptionService.class);
+        when(subscriptions.followedAuthors("reader")).thenReturn(posts.keySet());
+        return new InMemoryFeed(subscriptions, recentPerAuthor, posts);
+    }
+
+    private static List<PostRef> refs(String author, long firstCreatedAt, long step, int count) {
+        List<PostRef> refs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            refs.add(new PostRef(String.format("%s%02d", author, i), firstCreatedAt + i * step));
+        }
+        return refs;
+    }
+
+    private static List<String> expected(Map<String, List<PostRef>> posts) {
+        return posts.values().stream().flatMap(List::stream).sorted(NEWEST_FIRST).map(PostRef::id).toList();
+    }
+
+    private static List<String> readAll(FollowingFeedService feed, int limit) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        for (int pages = 0; pages < 100; pages++) {
+            PostPage page = feed.page("reader", cursor, limit);
+            page.posts().forEach(post -> ids.add(post.getId()));
+            cursor = page.nextCursor();
+            if (cursor == null) {
+                return ids;
+            }
+        }
+        throw new AssertionError("Feed did not end");
+    }
+
+    /**
+     * Serves post refs from memory the way the aggregation would.
+     */
+    private static final class InMemoryFeed extends FollowingFeedService {
+        private final Map<String, List<PostRef>> posts;
+        final List<Set<String>> calls = new ArrayList<>();
+
+        InMemoryFeed(SubscriptionService subscriptions, int recentPerAuthor, Map<String, List<PostRef>> posts) {
+            super(null, subscriptions, recentPerAuthor, Duration.ofMinutes(2), 1000);
+            this.posts = posts;
+        }
+
+        @Override
+        Map<String, List<PostRef>> newestPerAuthor(Set<? extends String> authors, PostRef after, int limit) {
+            if (after != null) {
+                calls.add(new HashSet<>(authors));
+            }
+            Map<String, List<PostRef>> result = new HashMap<>();
+            for (String author : authors) {
+                result.put(author, posts.getOrDefault(author, List.of()).stream()
+                        .filter(ref -> after == null || NEWEST_FIRST.compare(ref, after) > 0)
+                        .sorted(NEWEST_FIRST)
+                        .limit(limit)
+                        .toList());
+            }
+            return result;
+        }
+
+        @Override
+        List<BlogPost> hydrate(List<PostRef> refs) {
+            List<BlogPost> blogs = new ArrayList<>();
+            for (PostRef ref : refs) {
+                BlogPost blog = new BlogPost();
+                blog.setId(ref.id());
+                blogs.add(blog);
+            }
+            return blogs;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(10).toNanos();
+
+    @Test
+    void opensOnceTheFailureRateCrossesTheThreshold() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+        for (int i = 0; i < 6; i++) {
+            breaker.onResult(true, FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(false, FAST);
+        }
+        assertEquals(0.4, breaker.getFailureRate(), 1e-9);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onResult(false, FAST);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void waitsForTheMinimumNumberOfCalls() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(false, FAST);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+        breaker.onResult(true, FAST);
+        breaker.onResult(true, FAST);
+        for (int i = 0; i < 7; i++) {
+            breaker.onResult(true, SLOW);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onResult(true, SLOW);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+        for (int i = 0; i < 5; i++) {
+            breaker.onResult(true, FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(false, FAST);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        for (int i = 0; i < 10; i++) {
+            breaker.onResult(true, FAST);
+        }
+        assertEquals(0, breaker.getFailureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void letsOneProbeThroughAndClosesOnSuccess() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        trip(breaker);
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onResult(true, FAST);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void reopensWhenTheProbeFails() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        trip(breaker);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(true, SLOW);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker(10, 5, 0.5, 0.8, Duration.ofSeconds(5), openDuration);
+    }
+
+    private static void trip(CircuitBreaker breaker) {
+        for (int i = 0; i < 5; i++) {
+            breaker.onResult(false, FAST);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
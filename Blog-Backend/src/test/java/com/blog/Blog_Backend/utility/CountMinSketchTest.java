@@ -0,0 +1,56 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        Map<String, Integer> actual = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            String key = "client" + (i % 700);
+            sketch.incrementAndEstimate(key);
+            actual.merge(key, 1, Integer::sum);
+        }
+        actual.forEach((key, count) -> assertTrue(sketch.estimate(key) >= count, key));
+    }
+
+    @Test
+    void isExactWithoutCollisions() {
+        CountMinSketch sketch = new CountMinSketch(4, 1 << 16);
+        assertEquals(0, sketch.estimate("client"));
+        assertEquals(1, sketch.incrementAndEstimate("client"));
+        assertEquals(6, sketch.addAndEstimate("client", 5));
+        assertEquals(6, sketch.estimate("client"));
+    }
+
+    @Test
+    void overcountsByAboutTotalOverWidth() {
+        int width = 1 << 10;
+        CountMinSketch sketch = new CountMinSketch(4, width);
+        int total = 50_000;
+        for (int i = 0; i < total; i++) {
+            sketch.incrementAndEstimate("client" + i);
+        }
+        int overcounted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (sketch.estimate("client" + i) - 1 > 2 * total / width) {
+                overcounted++;
+            }
+        }
+        assertTrue(overcounted < 100, "overcounted: " + overcounted);
+    }
+
+    @Test
+    void rejectsWidthsThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 1000));
+    }
+}
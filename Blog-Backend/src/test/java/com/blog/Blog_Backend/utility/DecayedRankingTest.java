@@ -0,0 +1,69 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecayedRankingTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void halvesScoresEveryHalfLife() {
+        DecayedRanking ranking = new DecayedRanking(HOUR, 0);
+        ranking.add("a", 10, 0);
+        assertEquals(10, ranking.top(1, 0).get(0).score(), 1e-9);
+        assertEquals(5, ranking.top(1, HOUR).get(0).score(), 1e-9);
+        assertEquals(2.5, ranking.snapshot(2 * HOUR).get("a"), 1e-9);
+    }
+
+    @Test
+    void recentActivityOutranksOlderActivity() {
+        DecayedRanking ranking = new DecayedRanking(HOUR, 0);
+        ranking.add("old", 10, 0);
+        ranking.add("new", 6, 2 * HOUR);
+        ranking.add("newer", 1, 3 * HOUR);
+        List<DecayedRanking.Ranked> top = ranking.top(2, 3 * HOUR);
+        assertEquals(List.of("new", "old"), top.stream().map(DecayedRanking.Ranked::key).toList());
+        assertEquals(3, top.get(0).score(), 1e-9);
+        assertEquals(1.25, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void addsAccumulateAndDropAtZero() {
+        DecayedRanking ranking = new DecayedRanking(HOUR, 0);
+        ranking.add("a", 2, 0);
+        ranking.add("a", 2, HOUR);
+        assertEquals(3, ranking.snapshot(HOUR).get("a"), 1e-9);
+        ranking.add("a", -3, HOUR);
+        assertEquals(0, ranking.size());
+        assertTrue(ranking.top(10, HOUR).isEmpty());
+    }
+
+    @Test
+    void removeAndPruneDropKeys() {
+        DecayedRanking ranking = new DecayedRanking(HOUR, 0);
+        ranking.add("a", 8, 0);
+        ranking.add("b", 1, 0);
+        ranking.add("c", 4, 0);
+        ranking.remove("c");
+        assertEquals(1, ranking.prune(1, HOUR));
+        assertEquals(List.of("a"), ranking.top(10, HOUR).stream().map(DecayedRanking.Ranked::key).toList());
+    }
+
+    @Test
+    void rebasingKeepsScoresAndOrder() {
+        DecayedRanking ranking = new DecayedRanking(HOUR, 0);
+        // Far enough ahead that adding "b" moves the landmark.
+        ranking.add("a", 1e40, 0);
+        long later = 100 * HOUR;
+        ranking.add("b", 1, later);
+        List<DecayedRanking.Ranked> top = ranking.top(2, later);
+        assertEquals("a", top.get(0).key());
+        assertEquals(1e40 / Math.pow(2, 100), top.get(0).score(), 1e40 / Math.pow(2, 100) * 1e-9);
+        assertEquals(1, top.get(1).score(), 1e-9);
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void turnsAwayWorkBeyondTheLimit() {
+        GradientLimit limit = new GradientLimit(2, 1, 10);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(FAST, false);
+        assertEquals(1, limit.getInFlight());
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void growsWhileSaturatedAtSteadyLatency() {
+        GradientLimit limit = new GradientLimit(10, 1, 40);
+        for (int round = 0; round < 100; round++) {
+            saturate(limit, FAST);
+        }
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() {
+        GradientLimit limit = new GradientLimit(10, 1, 40);
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyClimbs() {
+        GradientLimit limit = new GradientLimit(50, 2, 100);
+        limit.tryAcquire();
+        limit.release(FAST, false);
+        for (int round = 0; round < 50; round++) {
+            saturate(limit, SLOW);
+        }
+        assertTrue(limit.getLimit() < 10, "limit: " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    void failuresBackOffDownToTheMinimum() {
+        GradientLimit limit = new GradientLimit(20, 5, 40);
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertEquals(18, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    private static void saturate(GradientLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void countsSmallSetsExactlyEnough() {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 100; i++) {
+            sketch.add("reader" + i);
+        }
+        assertTrue(Math.abs(sketch.estimate() - 100) <= 2, "estimate: " + sketch.estimate());
+    }
+
+    @Test
+    void estimatesLargeSetsWithinFourStandardErrors() {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        int distinct = 200_000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add("reader" + i);
+        }
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        assertTrue(error < 4 * sketch.relativeStandardError(), "relative error: " + error);
+    }
+
+    @Test
+    void repeatedValuesDoNotChangeTheSketch() {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        assertTrue(sketch.add("reader"));
+        assertFalse(sketch.add("reader"));
+        assertEquals(1, sketch.estimate());
+    }
+
+    @Test
+    void mergeMatchesASketchOfTheUnion() {
+        HyperLogLog left = new HyperLogLog(10);
+        HyperLogLog right = new HyperLogLog(10);
+        HyperLogLog union = new HyperLogLog(10);
+        for (int i = 0; i < 5_000; i++) {
+            left.add("reader" + i);
+            union.add("reader" + i);
+        }
+        for (int i = 2_500; i < 7_500; i++) {
+            right.add("reader" + i);
+            union.add("reader" + i);
+        }
+        left.merge(right);
+        assertArrayEquals(union.toBytes(), left.toBytes());
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        HyperLogLog sketch = new HyperLogLog(8);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add("reader" + i);
+        }
+        HyperLogLog copy = HyperLogLog.fromBytes(sketch.toBytes());
+        assertEquals(sketch.estimate(), copy.estimate());
+        assertThrows(IllegalArgumentException.class, () -> copy.merge(new HyperLogLog(9)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[100]));
+    }
+}
@@ -0,0 +1,140 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkdownTest {
+
+    private static final Duration LINEAR = Duration.ofSeconds(2);
+
+    @Test
+    void rendersBasicMarkdown() {
+        assertEquals("<h2>Title</h2>\n", Markdown.toHtml("## Title"));
+        assertEquals("<p><strong>bold</strong> and <em>em</em></p>\n", Markdown.toHtml("**bold** and *em*"));
+        assertEquals("<ul>\n<li>a</li>\n<li>b</li>\n</ul>\n", Markdown.toHtml("- a\n- b"));
+        assertEquals("<blockquote>\n<p>quoted</p>\n</blockquote>\n", Markdown.toHtml("> quoted"));
+    }
+
+    @Test
+    void escapesRawHtml() {
+        String html = Markdown.toHtml("<script>alert(1)</script> <img src=x onerror=alert(1)>");
+        assertFalse(html.contains("<script"));
+        assertFalse(html.contains("<img"));
+        assertTrue(html.contains("&lt;script&gt;"));
+    }
+
+    @Test
+    void dropsScriptAndDataUrls() {
+        assertEquals("<p>click</p>\n", Markdown.toHtml("[click](javascript:alert(1))"));
+        assertEquals("<p>click</p>\n", Markdown.toHtml("[click](JaVaScRiPt:alert(1))"));
+        assertEquals("<p>click</p>\n", Markdown.toHtml("[click](data:text/html;base64,PHNjcmlwdD4=)"));
+        assertFalse(Markdown.toHtml("![x](data:image/png;base64,AAAA)").contains("<img"));
+        assertFalse(Markdown.toHtml("![x](javascript:alert(1))").contains("<img"));
+        assertFalse(Markdown.toHtml("<javascript:alert(1)>").contains("href"));
+        assertFalse(Markdown.toHtml("[x](vbscript:msgbox)").contains("href"));
+    }
+
+    @Test
+    void keepsSafeUrls() {
+        assertEquals("<p><a href=\"https://example.com/a?b=1&amp;c=2\" rel=\"nofollow noopener noreferrer\">x</a></p>\n",
+                Markdown.toHtml("[x](https://example.com/a?b=1&c=2)"));
+        assertTrue(Markdown.toHtml("[x](/blog/1)").contains("href=\"/blog/1\""));
+        assertTrue(Markdown.toHtml("[x](mailto:a@b.c)").contains("href=\"mailto:a@b.c\""));
+        assertFalse(Markdown.toHtml("![x](mailto:a@b.c)").contains("<img"));
+    }
+
+    @Test
+    void escapesAttributeBreakouts() {
+        String html = Markdown.toHtml("[x](https://a.b \"\\\" onmouseover=\\\"alert(1)\")");
+        assertFalse(html.contains("\" onmouseover"));
+        html = Markdown.toHtml("![\" onerror=\"alert(1)](https://a.b/i.png)");
+        assertFalse(html.contains("\" onerror"));
+        html = Markdown.toHtml("```\"><script>\n</code><script>alert(1)</script>\n```");
+        assertFalse(html.contains("<script"));
+    }
+
+    @Test
+    void capsBlockQuoteNesting() {
+        String html = assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml(">".repeat(100_000) + " deep"));
+        assertEquals(Markdown.MAX_NESTING, count(html, "<blockquote>"));
+    }
+
+    @Test
+    void capsListNesting() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            source.append("  ".repeat(i)).append("- item\n");
+        }
+        String html = assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml(source.toString()));
+        assertTrue(count(html, "<ul>") <= Markdown.MAX_NESTING);
+    }
+
+    @Test
+    void capsInlineNesting() {
+        String source = "[".repeat(5_000) + "x" + "](https://a.b)".repeat(5_000);
+        String html = assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml(source));
+        assertTrue(count(html, "<a ") <= Markdown.MAX_NESTING);
+
+        String emphasis = "*_".repeat(5_000) + "x" + "_*".repeat(5_000);
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml(emphasis));
+    }
+
+    @Test
+    void deeplyMixedNestingRendersOnASmallStack() throws InterruptedException {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            source.append("> - ").append("**[_".repeat(20));
+        }
+        source.append("deep");
+        String[] html = new String[1];
+        Throwable[] failure = new Throwable[1];
+        // Far below the default stack: rendering must not depend on input depth.
+        Thread thread = new Thread(null, () -> {
+            try {
+                html[0] = Markdown.toHtml(source.toString());
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        }, "markdown-small-stack", 256 * 1024);
+        thread.start();
+        thread.join(LINEAR.toMillis() * 5);
+        assertFalse(thread.isAlive());
+        if (failure[0] != null) {
+            throw new AssertionError(failure[0]);
+        }
+        assertTrue(count(html[0], "<blockquote>") <= Markdown.MAX_NESTING);
+        assertTrue(html[0].contains("deep"));
+    }
+
+    @Test
+    void unclosedDelimitersStayLinear() {
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("[".repeat(200_000)));
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("[a](".repeat(50_000)));
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("*a ".repeat(100_000)));
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("__a ".repeat(100_000)));
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("~~a ".repeat(100_000)));
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("`a ``b ".repeat(50_000)));
+        assertTimeoutPreemptively(LINEAR, () -> Markdown.toHtml("<".repeat(200_000)));
+    }
+
+    @Test
+    void unclosedDelimitersRenderAsText() {
+        assertEquals("<p>[a](b</p>\n", Markdown.toHtml("[a](b"));
+        assertEquals("<p>*a *b</p>\n", Markdown.toHtml("*a *b"));
+        assertEquals("<p>&lt;a</p>\n", Markdown.toHtml("<a"));
+    }
+
+    private static int count(String haystack, String needle) {
+        int count = 0;
+        for (int i = haystack.indexOf(needle); i >= 0; i = haystack.indexOf(needle, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,79 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashTest {
+
+    private final MinHash minHash = new MinHash(16, 8);
+
+    @Test
+    void identicalSetsAgreeEverywhere() {
+        int[] left = minHash.signature(shingles(0, 100));
+        int[] right = minHash.signature(shingles(0, 100));
+        assertEquals(1.0, MinHash.similarity(left, right));
+        assertArrayEquals(minHash.bandKeys(left), minHash.bandKeys(right));
+    }
+
+    @Test
+    void estimatesJaccardSimilarity() {
+        // |A ∩ B| = 50 and |A ∪ B| = 150.
+        int[] left = minHash.signature(shingles(0, 100));
+        int[] right = minHash.signature(shingles(50, 150));
+        double similarity = MinHash.similarity(left, right);
+        assertTrue(Math.abs(similarity - 1.0 / 3) < 0.15, "similarity: " + similarity);
+    }
+
+    @Test
+    void bandsMatchSimilarSetsButNotDisjointOnes() {
+        long[] base = minHash.bandKeys(minHash.signature(shingles(0, 100)));
+        // Jaccard 95 / 105, about 0.9.
+        long[] similar = minHash.bandKeys(minHash.signature(shingles(5, 105)));
+        long[] disjoint = minHash.bandKeys(minHash.signature(shingles(1_000, 1_100)));
+        assertTrue(sharesBand(base, similar));
+        assertFalse(sharesBand(base, disjoint));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        int[] signature = minHash.signature(shingles(0, 10));
+        assertArrayEquals(signature, MinHash.fromBytes(MinHash.toBytes(signature)));
+        assertEquals(128, signature.length);
+    }
+
+    @Test
+    void rejectsEmptyBanding() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHash(0, 8));
+    }
+
+    private static List<String> shingles(int from, int to) {
+        List<String> shingles = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            shingles.add("word" + i + " word" + (i + 1));
+        }
+        return shingles;
+    }
+
+    private static boolean sharesBand(long[] left, long[] right) {
+        Set<Long> keys = new HashSet<>();
+        for (long key : left) {
+            keys.add(key);
+        }
+        for (long key : right) {
+            if (keys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
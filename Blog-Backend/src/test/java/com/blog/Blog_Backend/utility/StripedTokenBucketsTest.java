@@ -0,0 +1,60 @@
+package com.blog.Blog_Backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedTokenBucketsTest {
+
+    @Test
+    void allowsCapacityThenReportsTheWait() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, 1, TimeUnit.HOURS, 1_000, 4);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("otp:alice@example.com"));
+        }
+        long wait = buckets.tryAcquire("otp:alice@example.com");
+        assertTrue(wait > 0 && wait <= TimeUnit.MINUTES.toNanos(20), "wait: " + wait);
+    }
+
+    @Test
+    void keysHaveIndependentBudgets() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 1, TimeUnit.HOURS, 1_000, 4);
+        assertEquals(0, buckets.tryAcquire("otp:alice@example.com"));
+        assertTrue(buckets.tryAcquire("otp:alice@example.com") > 0);
+        assertEquals(0, buckets.tryAcquire("otp:bob@example.com"));
+    }
+
+    @Test
+    void evictedKeysComeBackWithTheirDebt() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, 1, TimeUnit.HOURS, 16, 1);
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("otp:alice@example.com");
+        }
+        for (int i = 0; i < 100; i++) {
+            buckets.tryAcquire("otp:user" + i + "@example.com");
+        }
+        assertTrue(buckets.size() <= 16);
+        assertTrue(buckets.tryAcquire("otp:alice@example.com") > 0);
+    }
+
+    @Test
+    void neverEvictedKeysStartFull() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(3, 1, TimeUnit.HOURS, 16, 1);
+        for (int i = 0; i < 100; i++) {
+            buckets.tryAcquire("otp:user" + i + "@example.com");
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("otp:alice@example.com"));
+        }
+    }
+
+    @Test
+    void rejectsStripeCountsThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StripedTokenBuckets(3, 1, TimeUnit.HOURS, 1_000, 3));
+    }
+}
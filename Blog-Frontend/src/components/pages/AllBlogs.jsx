@@ -21,6 +21,7 @@ import { Button } from "@/components/ui/button";
 import BlogCard from "@/components/BlogCard";
 import { useBlogs } from "@/hooks/useBlogs";
 import { useSearchHotkey } from "@/hooks/useSearchHotkey";
+import { useContentSearch } from "@/hooks/useContentSearch";
 import { cn } from "@/lib/utils";
 
 const PAGE_SIZE = 6;
@@ -29,9 +30,9 @@ const formatBlog = (blog) => ({
   id: blog.id,
   title: blog.title,
   excerpt:
-    blog.content && blog.content.length > 240
-      ? blog.content.substring(0, 240).trim() + "…"
-      : blog.content || "",
+    blog.excerpt && blog.excerpt.length > 240
+      ? blog.excerpt.substring(0, 240).trim() + "…"
+      : blog.excerpt || "",
   imageUrl: blog.image ? `data:image/jpeg;base64,${blog.image}` : null,
   authorName:
     blog.author?.name ||
@@ -67,6 +68,8 @@ const AllBlogs = () => {
 
   const blogs = useMemo(() => rawBlogs.map(formatBlog), [rawBlogs]);
 
+  const contentMatches = useContentSearch(searchQuery);
+
   const filtered = useMemo(() => {
     const q = searchQuery.toLowerCase().trim();
     if (!q) return blogs;
@@ -74,9 +77,10 @@ const AllBlogs = () => {
       (b) =>
         b.title.toLowerCase().includes(q) ||
         b.authorName.toLowerCase().includes(q) ||
-        b.excerpt.toLowerCase().includes(q)
+        b.excerpt.toLowerCase().includes(q) ||
+        contentMatches.has(b.id)
     );
-  }, [blogs, searchQuery]);
+  }, [blogs, searchQuery, contentMatches]);
 
   useEffect(() => {
     setCurrentPage(1);
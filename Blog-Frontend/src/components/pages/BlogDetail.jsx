@@ -17,6 +17,7 @@ import {
 } from "lucide-react";
 import { Prism as SyntaxHighlighter } from "react-syntax-highlighter";
 import { vscDarkPlus } from "react-syntax-highlighter/dist/esm/styles/prism";
+import DOMPurify from "dompurify";
 import { useToast } from "@/hooks/use-toast";
 import { Button } from "@/components/ui/button";
 import { Container } from "@/components/shared/Container";
@@ -145,10 +146,13 @@ const BlogDetail = () => {
           id: data.id,
           title: data.title,
           content: data.content,
+          contentHtml: data.contentHtml,
+          readingMinutes: data.readingMinutes,
           codeSnippet: data.codeSnippet
             ? {
                 language: data.codeLanguage || "javascript",
                 content: data.codeSnippet,
+                html: data.codeHtml,
               }
             : null,
           imageUrl: data.image ? `data:image/jpeg;base64,${data.image}` : null,
@@ -195,8 +199,8 @@ const BlogDetail = () => {
   }, [id, navigate]);
 
   const wordCount = useMemo(
-    () => readingTime(blog?.content || ""),
-    [blog?.content]
+    () => blog?.readingMinutes || readingTime(blog?.content || ""),
+    [blog?.readingMinutes, blog?.content]
   );
 
   // When the user clicks Summarise the AI panel mounts; smooth-scroll to it
@@ -596,12 +600,13 @@ const BlogDetail = () => {
             </div>
           )}
 
-          <MarkdownView content={blog.content} />
+          <MarkdownView content={blog.content} html={blog.contentHtml} />
 
           {blog.codeSnippet && (
             <CodeBlock
               language={blog.codeSnippet.language}
               code={blog.codeSnippet.content}
+              html={blog.codeSnippet.html}
               onCopy={handleCopyCode}
               copied={copied}
             />
@@ -867,7 +872,7 @@ const WarmupIndicator = ({ progress, compact = false }) => {
 /* =========================================================
    Code block with copy
    ========================================================= */
-const CodeBlock = ({ language, code, onCopy, copied }) => (
+const CodeBlock = ({ language, code, html, onCopy, copied }) => (
   <div className="mt-12 mb-6">
     <div className="flex items-center justify-between mb-3">
       <h3 className="text-lg font-heading font-bold text-ink flex items-center gap-2">
@@ -896,25 +901,31 @@ const CodeBlock = ({ language, code, onCopy, copied }) => (
           )}
         </button>
       </div>
-      <SyntaxHighlighter
-        language={language}
-        style={vscDarkPlus}
-        customStyle={{
-          background: "transparent",
-          padding: "1.25rem 1rem",
-          margin: 0,
-          fontSize: "14px",
-          lineHeight: "1.65",
-        }}
-        codeTagProps={{
-          style: {
-            fontFamily:
-              "'JetBrains Mono', 'Fira Code', 'Consolas', monospace",
-          },
-        }}
-      >
-        {code.trim()}
-      </SyntaxHighlighter>
+      {html ? (
+        <pre className="code-tokens">
+          <code dangerouslySetInnerHTML={{ __html: DOMPurify.sanitize(html) }} />
+        </pre>
+      ) : (
+        <SyntaxHighlighter
+          language={language}
+          style={vscDarkPlus}
+          customStyle={{
+            background: "transparent",
+            padding: "1.25rem 1rem",
+            margin: 0,
+            fontSize: "14px",
+            lineHeight: "1.65",
+          }}
+          codeTagProps={{
+            style: {
+              fontFamily:
+                "'JetBrains Mono', 'Fira Code', 'Consolas', monospace",
+            },
+          }}
+        >
+          {code.trim()}
+        </SyntaxHighlighter>
+      )}
     </div>
   </div>
 );
@@ -23,6 +23,7 @@ import { Section } from "@/components/shared/Section";
 import { Field, Textarea } from "@/components/shared/Field";
 import { MarkdownView } from "@/components/shared/MarkdownView";
 import { PageSpinner } from "@/components/shared/Spinner";
+import { useDraftAutosave } from "@/hooks/useDraftAutosave";
 import apiFetch from "../utils/api";
 
 const LANGUAGES = [
@@ -53,6 +54,30 @@ const EditBlog = () => {
   const [previewUrl, setPreviewUrl] = useState(null);
   const [isPreview, setIsPreview] = useState(false);
 
+  // Typing autosaves small patches into a draft; subscribers only hear about
+  // the post again when the draft is published.
+  const draft = useDraftAutosave({
+    blogId: id,
+    enabled: !isLoading,
+    fields: {
+      title,
+      content: blogContent,
+      codeSnippet: codeContent,
+      codeLanguage: codeContent.trim() ? codeLanguage : "",
+    },
+    onRestore: (saved) => {
+      setTitle(saved.title || "");
+      setBlogContent(saved.content || "");
+      setCodeContent(saved.codeSnippet || "");
+      setCodeLanguage(saved.codeLanguage || "javascript");
+      if (saved.image) setPreviewUrl(`data:image/jpeg;base64,${saved.image}`);
+      toast({
+        title: "Unpublished changes restored",
+        description: "Picked up where you left off.",
+      });
+    },
+  });
+
   useEffect(() => {
     let active = true;
     (async () => {
@@ -129,6 +154,21 @@ const EditBlog = () => {
     }
     setSaving(true);
     try {
+      if (draft.draftId) {
+        if (selectedFile) await draft.saveImage(selectedFile);
+        const response = await draft.publish();
+        if (!response.ok) {
+          if (response.status === 401) {
+            navigate("/login");
+            return;
+          }
+          throw new Error("Failed to publish");
+        }
+        toast({ title: "Saved", description: "Your changes are live." });
+        navigate("/profile");
+        return;
+      }
+
       const formData = new FormData();
       formData.append("id", id);
       formData.append("title", title);
@@ -198,6 +238,18 @@ const EditBlog = () => {
               <span>
                 <strong className="text-ink">{readMin}</strong> min read
               </span>
+              {draft.status === "saving" && (
+                <>
+                  <span>·</span>
+                  <span>Saving draft…</span>
+                </>
+              )}
+              {draft.status === "saved" && (
+                <>
+                  <span>·</span>
+                  <span>Draft saved</span>
+                </>
+              )}
             </div>
           </div>
 
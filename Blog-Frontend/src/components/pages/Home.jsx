@@ -12,6 +12,7 @@ import { EmptyState } from "@/components/shared/EmptyState";
 import { StaleBanner } from "@/components/shared/StaleBanner";
 import { useBlogs } from "@/hooks/useBlogs";
 import { useSearchHotkey } from "@/hooks/useSearchHotkey";
+import { useContentSearch } from "@/hooks/useContentSearch";
 
 const FALLBACK_IMG =
   import.meta.env.VITE_FALLBACK_IMAGE ||
@@ -21,9 +22,9 @@ const formatBlog = (blog) => ({
   id: blog.id,
   title: blog.title,
   excerpt:
-    blog.content && blog.content.length > 220
-      ? blog.content.substring(0, 220).trim() + "…"
-      : blog.content || "",
+    blog.excerpt && blog.excerpt.length > 220
+      ? blog.excerpt.substring(0, 220).trim() + "…"
+      : blog.excerpt || "",
   imageUrl: blog.image
     ? `data:image/jpeg;base64,${blog.image}`
     : FALLBACK_IMG,
@@ -56,6 +57,8 @@ const Home = () => {
 
   const allBlogs = useMemo(() => rawBlogs.map(formatBlog), [rawBlogs]);
 
+  const contentMatches = useContentSearch(searchQuery);
+
   const filtered = useMemo(() => {
     const q = searchQuery.toLowerCase().trim();
     if (!q) return allBlogs;
@@ -63,9 +66,10 @@ const Home = () => {
       (b) =>
         b.title.toLowerCase().includes(q) ||
         b.excerpt.toLowerCase().includes(q) ||
-        b.authorName.toLowerCase().includes(q)
+        b.authorName.toLowerCase().includes(q) ||
+        contentMatches.has(b.id)
     );
-  }, [allBlogs, searchQuery]);
+  }, [allBlogs, searchQuery, contentMatches]);
 
   const isSearching = searchQuery.trim().length > 0;
   const featuredBlog = !isSearching && allBlogs[0];
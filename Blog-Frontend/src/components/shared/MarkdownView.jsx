@@ -3,15 +3,17 @@ import { marked } from "marked";
 import DOMPurify from "dompurify";
 import { cn } from "@/lib/utils";
 
-export const MarkdownView = ({ content, variant = "article", className }) => {
+// `html`, when given, is the server's pre-rendered version of `content`.
+export const MarkdownView = ({ content, html: rendered, variant = "article", className }) => {
   const html = useMemo(() => {
+    if (rendered) return DOMPurify.sanitize(rendered);
     if (!content) return "";
     try {
       return DOMPurify.sanitize(marked.parse(content));
     } catch {
       return DOMPurify.sanitize(content);
     }
-  }, [content]);
+  }, [content, rendered]);
 
   if (!html) return null;
 
@@ -12,9 +12,9 @@ const formatBlog = (blog) => ({
   id: blog.id,
   title: blog.title,
   excerpt:
-    blog.content && blog.content.length > 200
-      ? blog.content.substring(0, 200).trim() + "…"
-      : blog.content || "",
+    blog.excerpt && blog.excerpt.length > 200
+      ? blog.excerpt.substring(0, 200).trim() + "…"
+      : blog.excerpt || "",
   imageUrl: blog.image
     ? `data:image/jpeg;base64,${blog.image}`
     : FALLBACK_IMG,
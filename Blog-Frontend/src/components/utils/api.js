@@ -3,13 +3,43 @@ import authService from '../../services/authService';
 // The actual API base URL is resolved inside authService from env vars.
 // This file is a thin wrapper around authService.authenticatedFetch.
 
+// After a write the backend returns a causal-consistency token. Echoing it
+// for a short while lets the author's next reads see their own write even
+// when those reads are served by a lagging replica.
+const READ_AFTER_HEADER = 'X-Read-After';
+const READ_AFTER_KEY = 'readAfterToken';
+const READ_AFTER_TTL_MS = 60 * 1000;
+
+const currentReadAfterToken = () => {
+    try {
+        const stored = JSON.parse(sessionStorage.getItem(READ_AFTER_KEY));
+        if (stored && Date.now() - stored.at < READ_AFTER_TTL_MS) {
+            return stored.token;
+        }
+    } catch {
+        // ignore malformed storage
+    }
+    return null;
+};
+
 /**
  * Enhanced API fetch function that works with both OAuth and Basic Auth
  */
 const apiFetch = async (url, options = {}) => {
     try {
+        const token = currentReadAfterToken();
+        const requestOptions = token
+            ? { ...options, headers: { ...options.headers, [READ_AFTER_HEADER]: token } }
+            : options;
+
         // Use the auth service for authenticated requests
-        return await authService.authenticatedFetch(url, options);
+        const response = await authService.authenticatedFetch(url, requestOptions);
+
+        const issued = response?.headers?.get?.(READ_AFTER_HEADER);
+        if (issued) {
+            sessionStorage.setItem(READ_AFTER_KEY, JSON.stringify({ token: issued, at: Date.now() }));
+        }
+        return response;
     } catch (error) {
         console.error(`API fetch error for ${url}:`, error);
         throw error;
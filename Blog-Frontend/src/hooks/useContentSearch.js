@@ -0,0 +1,42 @@
+import { useEffect, useState } from "react";
+import apiFetch from "../components/utils/api";
+
+const SEARCH_DELAY_MS = 300;
+const MIN_QUERY_LENGTH = 2;
+const EMPTY = new Set();
+
+/**
+ * Ids of posts whose full content matches `query`, from /api/blogs/search.
+ * Feed items only carry an excerpt, so local filtering alone would miss
+ * matches further into a post. Debounced; an empty set while typing or on
+ * failure, so callers can always OR it with their local match.
+ */
+export const useContentSearch = (query) => {
+  const [result, setResult] = useState({ query: "", ids: EMPTY });
+  const q = query.trim();
+
+  useEffect(() => {
+    if (q.length < MIN_QUERY_LENGTH) return undefined;
+    let active = true;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await apiFetch(
+          `/api/blogs/search?q=${encodeURIComponent(q)}`
+        );
+        if (!response.ok) return;
+        const ids = await response.json();
+        if (active) setResult({ query: q, ids: new Set(ids) });
+      } catch (err) {
+        console.error("useContentSearch: search failed", err);
+      }
+    }, SEARCH_DELAY_MS);
+    return () => {
+      active = false;
+      clearTimeout(timer);
+    };
+  }, [q]);
+
+  return result.query === q ? result.ids : EMPTY;
+};
+
+export default useContentSearch;
@@ -0,0 +1,188 @@
+import { useCallback, useEffect, useRef, useState } from "react";
+import apiFetch from "../components/utils/api";
+
+const AUTOSAVE_DELAY_MS = 1500;
+const PUBLISH_FLUSH_ATTEMPTS = 3;
+const TEXT_FIELDS = ["title", "content", "codeSnippet"];
+
+// Smallest single splice turning `before` into `after`: the common prefix and
+// suffix are kept, so a keystroke costs a few bytes instead of the whole body.
+const splice = (path, before, after) => {
+  const max = Math.min(before.length, after.length);
+  let start = 0;
+  while (start < max && before[start] === after[start]) start++;
+  let end = 0;
+  while (
+    end < max - start &&
+    before[before.length - 1 - end] === after[after.length - 1 - end]
+  ) {
+    end++;
+  }
+  return {
+    op: "splice",
+    path,
+    offset: start,
+    delete: before.length - start - end,
+    insert: after.slice(start, after.length - end),
+  };
+};
+
+const diff = (saved, current) => {
+  const ops = [];
+  for (const field of TEXT_FIELDS) {
+    const before = saved[field] || "";
+    const after = current[field] || "";
+    if (before !== after) ops.push(splice(`/${field}`, before, after));
+  }
+  if ((saved.codeLanguage || "") !== (current.codeLanguage || "")) {
+    ops.push({ op: "replace", path: "/codeLanguage", value: current.codeLanguage || null });
+  }
+  return ops;
+};
+
+const snapshot = (draft) => ({
+  title: draft.title || "",
+  content: draft.content || "",
+  codeSnippet: draft.codeSnippet || "",
+  codeLanguage: draft.codeLanguage || "",
+});
+
+/**
+ * Autosaves editor fields into a server-side draft of `blogId` as small
+ * patches against the draft's version, and publishes it on request.
+ * `onRestore` receives a draft left over from an earlier session whose
+ * fields differ from `fields`. `draftId` stays null if no draft could be
+ * opened, in which case callers fall back to saving the post directly.
+ */
+export const useDraftAutosave = ({ blogId, enabled, fields, onRestore }) => {
+  const [draftId, setDraftId] = useState(null);
+  const [status, setStatus] = useState("idle");
+  const versionRef = useRef(0);
+  const savedRef = useRef(null);
+  const fieldsRef = useRef(fields);
+  const inFlightRef = useRef(null);
+  const onRestoreRef = useRef(onRestore);
+  fieldsRef.current = fields;
+  onRestoreRef.current = onRestore;
+
+  useEffect(() => {
+    if (!enabled) return undefined;
+    let active = true;
+    (async () => {
+      try {
+        const response = await apiFetch("/api/drafts", {
+          method: "POST",
+          body: JSON.stringify({ blogId }),
+        });
+        if (!response.ok) throw new Error("Failed to open draft");
+        const draft = await response.json();
+        if (!active) return;
+        versionRef.current = draft.version;
+        savedRef.current = snapshot(draft);
+        if (diff(savedRef.current, snapshot(fieldsRef.current)).length > 0) {
+          onRestoreRef.current?.(draft);
+        }
+        setDraftId(draft.id);
+      } catch {
+        if (active) setStatus("unavailable");
+      }
+    })();
+    return () => {
+      active = false;
+    };
+  }, [blogId, enabled]);
+
+  // Resolves to true once the server draft matches the editor as of the call.
+  const flush = useCallback(async () => {
+    if (!draftId) return false;
+    while (inFlightRef.current) await inFlightRef.current;
+    const current = snapshot(fieldsRef.current);
+    const ops = diff(savedRef.current, current);
+    if (ops.length === 0) return true;
+
+    const request = (async () => {
+      setStatus("saving");
+      const response = await apiFetch(`/api/drafts/${draftId}`, {
+        method: "PATCH",
+        body: JSON.stringify({ baseVersion: versionRef.current, ops }),
+      });
+      if (response.status === 409) {
+        // Saved from another tab; rebase on the server copy and retry later.
+        const latest = await apiFetch(`/api/drafts/${draftId}`);
+        if (latest.ok) {
+          const draft = await latest.json();
+          versionRef.current = draft.version;
+          savedRef.current = snapshot(draft);
+        }
+        setStatus("conflict");
+        return false;
+      }
+      if (!response.ok) {
+        setStatus("error");
+        return false;
+      }
+      const { version } = await response.json();
+      versionRef.current = version;
+      savedRef.current = current;
+      setStatus("saved");
+      return true;
+    })().catch(() => {
+      setStatus("error");
+      return false;
+    });
+    inFlightRef.current = request;
+    try {
+      return await request;
+    } finally {
+      inFlightRef.current = null;
+    }
+  }, [draftId]);
+
+  // Flushes until the draft holds every local edit; after a conflict the
+  // next attempt re-sends the edits against the rebased server copy.
+  const flushAll = useCallback(async () => {
+    for (let attempt = 0; attempt < PUBLISH_FLUSH_ATTEMPTS; attempt++) {
+      if (
+        (await flush()) &&
+        diff(savedRef.current, snapshot(fieldsRef.current)).length === 0
+      ) {
+        return;
+      }
+    }
+    throw new Error("Could not save the draft");
+  }, [flush]);
+
+  useEffect(() => {
+    if (!draftId) return undefined;
+    const timer = setTimeout(flush, AUTOSAVE_DELAY_MS);
+    return () => clearTimeout(timer);
+  }, [draftId, flush, fields.title, fields.content, fields.codeSnippet, fields.codeLanguage]);
+
+  const saveImage = useCallback(
+    async (file) => {
+      await flushAll();
+      const formData = new FormData();
+      formData.append("image", file);
+      const response = await apiFetch(
+        `/api/drafts/${draftId}/image?baseVersion=${versionRef.current}`,
+        { method: "PUT", body: formData }
+      );
+      if (!response.ok) throw new Error("Failed to save image");
+      versionRef.current = (await response.json()).version;
+    },
+    [draftId, flushAll]
+  );
+
+  // Rejects without publishing if local edits could not be saved first.
+  const publish = useCallback(async () => {
+    await flushAll();
+    return apiFetch(
+      `/api/drafts/${draftId}/publish?version=${versionRef.current}`,
+      { method: "POST" }
+    );
+  }, [draftId, flushAll]);
+
+  return { draftId, status, saveImage, publish };
+};
+
+export default useDraftAutosave;